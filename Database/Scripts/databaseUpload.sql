@@ -249,6 +249,21 @@ SET inventoryID = EXCLUDED.inventoryID,
     menuID = EXCLUDED.menuID,
     menuInfoQuantity = EXCLUDED.menuInfoQuantity;
 
+--report rollups (sales_hourly, sales_item_daily) are created and filled by the POS on startup (see app.SchemaMigrator).
+--after reloading order history into an existing database, rebuild them with app.SalesRollup
+
+--ingredient usage ledger (ingredient_usage_daily) is created and filled by the POS on startup (see app.SchemaMigrator).
+--after reloading order history into an existing database, rebuild it with app.UsageLedger
+
+--hi/lo id blocks for the POS (see IdAllocator): each sequence value reserves 50 ids, so start past the loaded rows
+CREATE SEQUENCE IF NOT EXISTS order_id_hilo_seq;
+CREATE SEQUENCE IF NOT EXISTS order_item_id_hilo_seq;
+CREATE SEQUENCE IF NOT EXISTS modification_id_hilo_seq;
+
+SELECT setval('order_id_hilo_seq', GREATEST((SELECT COALESCE(MAX(orderID), 0) FROM ordertest) / 50 + 1, (SELECT last_value FROM order_id_hilo_seq)));
+SELECT setval('order_item_id_hilo_seq', GREATEST((SELECT COALESCE(MAX(orderItemID), 0) FROM orderItem) / 50 + 1, (SELECT last_value FROM order_item_id_hilo_seq)));
+SELECT setval('modification_id_hilo_seq', GREATEST((SELECT COALESCE(MAX(modificationID), 0) FROM modification) / 50 + 1, (SELECT last_value FROM modification_id_hilo_seq)));
+
 DROP TABLE IF EXISTS staging_menu;
 DROP TABLE IF EXISTS staging_menuInfo;
 DROP TABLE IF EXISTS staging_order;
@@ -1,3 +1,7 @@
+DROP TABLE IF EXISTS schema_version;
+DROP TABLE IF EXISTS sales_hourly;
+DROP TABLE IF EXISTS sales_item_daily;
+DROP TABLE IF EXISTS ingredient_usage_daily;
 DROP TABLE modification;
 DROP TABLE menuInfo;
 DROP TABLE orderItem;
@@ -0,0 +1,140 @@
+package app;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Minimal average-time benchmark runner (the project is built with bare javac, so there is no JMH here).
+// Each benchmark runs timed iterations after a warm-up; an iteration calls the operation until iterationMs has passed
+// and yields one ns/op sample. Results are written in JMH's JSON layout (benchmark, mode, params, primaryMetric)
+// so they can be diffed with compare() or loaded into JMH tooling.
+final class BenchHarness {
+
+    record Result(String benchmark, Map<String, String> params, double score, double scoreError, double[] samples) {}
+
+    private final int warmupIterations;
+    private final int measureIterations;
+    private final long iterationMs;
+    private final List<Result> results = new ArrayList<>();
+
+    // Results of every operation end up here so the JIT cannot drop the work
+    static volatile long sink;
+
+    BenchHarness(int warmupIterations, int measureIterations, long iterationMs) {
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationMs = iterationMs;
+    }
+
+    // ===== RUN =====
+    Result run(String benchmark, Map<String, String> params, LongSupplier operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(operation);
+        }
+        double[] samples = new double[measureIterations];
+        for (int i = 0; i < measureIterations; i++) {
+            samples[i] = iteration(operation);
+        }
+
+        double mean = 0;
+        for (double s : samples) mean += s;
+        mean /= samples.length;
+        double variance = 0;
+        for (double s : samples) variance += (s - mean) * (s - mean);
+        double stdev = samples.length > 1 ? Math.sqrt(variance / (samples.length - 1)) : 0;
+        // 99.9% interval half-width, normal approximation
+        double error = 3.29 * stdev / Math.sqrt(samples.length);
+
+        Result result = new Result(benchmark, new LinkedHashMap<>(params), mean, error, samples);
+        results.add(result);
+        System.out.printf(Locale.ROOT, "%-28s %-24s %14.1f +- %10.1f ns/op%n", benchmark, params, mean, error);
+        return result;
+    }
+
+    private double iteration(LongSupplier operation) {
+        long deadline = System.nanoTime() + iterationMs * 1_000_000;
+        long ops = 0;
+        long acc = 0;
+        long start = System.nanoTime();
+        long now;
+        do {
+            acc += operation.getAsLong();
+            ops++;
+            now = System.nanoTime();
+        } while (now < deadline);
+        sink += acc;
+        return (double) (now - start) / ops;
+    }
+
+    // ===== JSON =====
+    void write(Path file) throws IOException {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int r = 0; r < results.size(); r++) {
+            Result result = results.get(r);
+            json.append("  {\n    \"benchmark\": \"").append(result.benchmark()).append("\",\n")
+                .append("    \"mode\": \"avgt\",\n")
+                .append("    \"warmupIterations\": ").append(warmupIterations).append(",\n")
+                .append("    \"measurementIterations\": ").append(measureIterations).append(",\n")
+                .append("    \"params\": {");
+            int p = 0;
+            for (Map.Entry<String, String> param : result.params().entrySet()) {
+                json.append(p++ == 0 ? "" : ", ").append('"').append(param.getKey()).append("\": \"").append(param.getValue()).append('"');
+            }
+            json.append("},\n    \"primaryMetric\": {\n")
+                .append("      \"score\": ").append(fmt(result.score())).append(",\n")
+                .append("      \"scoreError\": ").append(fmt(result.scoreError())).append(",\n")
+                .append("      \"scoreUnit\": \"ns/op\",\n")
+                .append("      \"rawData\": [[");
+            for (int i = 0; i < result.samples().length; i++) {
+                json.append(i == 0 ? "" : ", ").append(fmt(result.samples()[i]));
+            }
+            json.append("]]\n    }\n  }").append(r + 1 < results.size() ? ",\n" : "\n");
+        }
+        json.append("]\n");
+        Files.writeString(file, json);
+        System.out.println("Results written to " + file.toAbsolutePath());
+    }
+
+    private static String fmt(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    // ===== COMPARE =====
+    // Prints new/base score ratios for every benchmark + params present in both files (< 1.0 is faster)
+    static void compare(Path baseFile, Path newFile) throws IOException {
+        Map<String, double[]> base = readScores(baseFile);
+        Map<String, double[]> current = readScores(newFile);
+        System.out.printf(Locale.ROOT, "%-56s %14s %14s %8s%n", "benchmark", "base ns/op", "new ns/op", "ratio");
+        for (Map.Entry<String, double[]> entry : current.entrySet()) {
+            double[] before = base.get(entry.getKey());
+            if (before == null) continue;
+            double[] after = entry.getValue();
+            boolean significant = Math.abs(after[0] - before[0]) > after[1] + before[1];
+            System.out.printf(Locale.ROOT, "%-56s %14.1f %14.1f %8.3f%s%n", entry.getKey(), before[0], after[0],
+                    after[0] / before[0], significant ? "" : "  (within error)");
+        }
+    }
+
+    private static final Pattern ENTRY = Pattern.compile(
+            "\"benchmark\":\\s*\"([^\"]+)\".*?\"params\":\\s*\\{([^}]*)\\}.*?\"score\":\\s*([0-9.eE+-]+),\\s*\"scoreError\":\\s*([0-9.eE+-]+)",
+            Pattern.DOTALL);
+
+    // Reads files written by write(); not a general JSON parser
+    private static Map<String, double[]> readScores(Path file) throws IOException {
+        Map<String, double[]> scores = new LinkedHashMap<>();
+        Matcher m = ENTRY.matcher(Files.readString(file));
+        while (m.find()) {
+            String key = m.group(1) + " {" + m.group(2).replace("\"", "").trim() + "}";
+            scores.put(key, new double[] { Double.parseDouble(m.group(3)), Double.parseDouble(m.group(4)) });
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,209 @@
+package app;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+// Benchmarks for the cashier and reporting hot paths, on synthetic data (no database needed):
+//   seasonal.filterCategory   loadDrinks' availability filter over one category
+//   cart.addRemove            building a 20-line cart and removing every line, with running totals
+//   table.readTableData       ManagerController.readTableData over an in-memory ResultSet
+//   report.revenueByMenu      OrderAnalytics.sumBy, the range report's per-menu revenue scan over item columns
+//   report.topSellers         TopSellers.top over a range of per-(day, location) sketches, as the SQL-path report runs it
+//
+// javac --module-path GUI/lib --add-modules javafx.controls,javafx.fxml -cp GUI/lib/postgresql-42.7.3.jar -d GUI/bench-bin GUI/src/app/*.java GUI/bench/app/*.java
+// java -Xmx2g --module-path GUI/lib --add-modules javafx.controls -cp GUI/bench-bin app.PosBenchmarks --out before.json [--sizes 10000,100000] [--quick]
+// java -cp "GUI/bench-bin" app.PosBenchmarks --compare before.json after.json
+public final class PosBenchmarks {
+
+    private static final String[] CATEGORIES = {
+            "Ice-Blended", "Fruity Beverage", "Fresh Brew", "Milky Series", "New Matcha Series", "Non-Caffeinated" };
+    private static final long SEED = 42;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new TreeMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--quick")) opts.put("quick", "true");
+            else if (args[i].equals("--compare") && i + 2 < args.length) {
+                BenchHarness.compare(Path.of(args[i + 1]), Path.of(args[i + 2]));
+                return;
+            } else if (i + 1 < args.length) opts.put(args[i].replaceFirst("^--", ""), args[++i]);
+        }
+
+        boolean quick = opts.containsKey("quick");
+        BenchHarness harness = quick ? new BenchHarness(2, 3, 200) : new BenchHarness(5, 10, 1000);
+        String[] sizes = opts.getOrDefault("sizes", "10000,100000,1000000,10000000").split(",");
+
+        seasonal(harness);
+        cart(harness);
+        for (String size : sizes) {
+            int rows = Integer.parseInt(size.trim());
+            // Manager tables are capped well below the report sizes
+            if (rows <= 100_000) readTableData(harness, rows);
+        }
+        for (String size : sizes) {
+            revenueByMenu(harness, Integer.parseInt(size.trim()));
+        }
+        // Sketches are global, so each size records into its own decade and the ranges do not overlap
+        LocalDate first = LocalDate.of(2000, 1, 1);
+        for (int days : new int[] { 30, 365, 1825 }) {
+            topSellers(harness, first, days);
+            first = first.plusYears(10);
+        }
+        harness.write(Path.of(opts.getOrDefault("out", "bench-results.json")));
+    }
+
+    // ===== SEASONAL AVAILABILITY =====
+    private static void seasonal(BenchHarness harness) {
+        for (int menuSize : new int[] { 50, 500 }) {
+            Random random = new Random(SEED);
+            List<MenuCatalog.MenuItem> items = new ArrayList<>();
+            for (int id = 0; id < menuSize; id++) {
+                LocalDateTime start = null;
+                LocalDateTime end = null;
+                if (random.nextInt(4) == 0) {
+                    start = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(366)).atStartOfDay();
+                    end = start.plusDays(14 + random.nextInt(90));
+                }
+                items.add(new MenuCatalog.MenuItem(id, "Item " + id, CATEGORIES[id % CATEGORIES.length],
+                        5.0, id, start, end));
+            }
+            SeasonalCalendar calendar = new SeasonalCalendar(items);
+            List<MenuCatalog.MenuItem> category = items.stream()
+                    .filter(item -> item.category().equals(CATEGORIES[0])).toList();
+            LocalDate[] days = new LocalDate[366];
+            for (int d = 0; d < days.length; d++) days[d] = LocalDate.of(2024, 1, 1).plusDays(d);
+
+            int[] day = { 0 };
+            harness.run("seasonal.filterCategory", Map.of("menuSize", String.valueOf(menuSize)), () -> {
+                BitSet active = calendar.activeOn(days[day[0]++ % days.length]);
+                long shown = 0;
+                for (MenuCatalog.MenuItem item : category) {
+                    if (active.get(item.menuID())) shown++;
+                }
+                return shown;
+            });
+        }
+    }
+
+    // ===== CART PRICING =====
+    private static void cart(BenchHarness harness) {
+        List<CartLine> lines = new ArrayList<>();
+        Random random = new Random(SEED);
+        for (int i = 0; i < 20; i++) {
+            List<Order.Modification> mods = random.nextBoolean()
+                    ? List.of(new Order.Modification(23, "Tapioca pearls", 1, 100))
+                    : List.of(new Order.Modification(1, "Sugar", -1, 0));
+            lines.add(new CartLine(i, "Drink " + i, 0, 1 + random.nextInt(2), 450 + random.nextInt(300), mods));
+        }
+
+        harness.run("cart.addRemove", Map.of("lines", "20"), () -> {
+            Cart cart = new Cart();
+            long totals = 0;
+            for (CartLine line : lines) {
+                cart.add(line);
+                totals += cart.getPricing().getTotalCents();
+            }
+            while (!cart.isEmpty()) {
+                cart.remove(cart.size() - 1);
+                totals += cart.getPricing().getTotalCents();
+            }
+            return totals;
+        });
+    }
+
+    // ===== RESULT SET -> TABLE =====
+    private static void readTableData(BenchHarness harness, int rows) {
+        String[] columns = { "Order ID", "Employee ID", "Location", "Date", "Total ($)" };
+        String[][] data = new String[rows][];
+        for (int r = 0; r < rows; r++) {
+            data[r] = new String[] { String.valueOf(r), String.valueOf(r % 3 + 1), "College Station",
+                    "2025-03-01 12:" + (r % 60) + ":00", String.valueOf(5 + r % 20) };
+        }
+
+        harness.run("table.readTableData", Map.of("rows", String.valueOf(rows)), () -> {
+            try {
+                return ManagerController.readTableData(resultSet(columns, data)).rows().size();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    // Forward-only ResultSet over an array, implementing just what readTableData calls
+    private static ResultSet resultSet(String[] columns, String[][] data) {
+        ResultSetMetaData meta = (ResultSetMetaData) Proxy.newProxyInstance(
+                ResultSetMetaData.class.getClassLoader(), new Class<?>[] { ResultSetMetaData.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> columns.length;
+                    case "getColumnLabel", "getColumnName" -> columns[(Integer) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        int[] row = { -1 };
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getMetaData" -> meta;
+                    case "next" -> ++row[0] < data.length;
+                    case "getString" -> data[row[0]][(Integer) args[0] - 1];
+                    case "close" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    // ===== RANGE REPORT AGGREGATION =====
+    // The scan revenueByMenu runs over the closed item columns, on orderItem-shaped arrays
+    private static void revenueByMenu(BenchHarness harness, int rows) {
+        Random random = new Random(SEED);
+        int menuSize = 44;
+        int[] menuIDs = new int[rows];
+        int[] cents = new int[rows];
+        for (int r = 0; r < rows; r++) {
+            menuIDs[r] = random.nextInt(menuSize);
+            cents[r] = (450 + random.nextInt(300)) * (1 + (random.nextInt(10) == 0 ? 1 : 0));
+        }
+
+        harness.run("report.revenueByMenu", Map.of("rows", String.valueOf(rows)), () -> {
+            long[] revenue = new long[menuSize];
+            OrderAnalytics.sumBy(menuIDs, cents, 0, rows, revenue);
+            return revenue[0];
+        });
+    }
+
+    // Every sketch carries a counter per menu item, so the merge cost depends on days x locations, not on orders
+    private static void topSellers(BenchHarness harness, LocalDate first, int days) {
+        Random random = new Random(SEED);
+        int menuSize = 44;
+        String[] locations = { "College Station", "Bryan", "Austin", "Houston", "Dallas", "San Antonio" };
+        List<Order> orders = new ArrayList<>();
+        for (int d = 0; d < days; d++) {
+            Timestamp orderDate = Timestamp.valueOf(first.plusDays(d).atTime(12, 0));
+            for (String location : locations) {
+                List<Order.Line> lines = new ArrayList<>();
+                for (int menuID = 0; menuID < menuSize; menuID++) {
+                    lines.add(new Order.Line(menuID, "Drink " + menuID, 450 + random.nextInt(300),
+                            1 + random.nextInt(20), 0, List.of()));
+                }
+                orders.add(new Order(1, location, orderDate, 0, lines));
+            }
+        }
+        TopSellers.record(orders);
+        LocalDate to = first.plusDays(days);
+
+        harness.run("report.topSellers", Map.of("days", String.valueOf(days)), () -> {
+            List<TopSellers.Seller> top = TopSellers.top(first, to, null);
+            return top.get(0).revenueCents();
+        });
+    }
+}
@@ -0,0 +1,184 @@
+package app;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Verifies login passcodes against an in-memory index, so a login attempt never touches the database.
+// Each (role, passcode) is stored as an HMAC-SHA256 keyed with a random per-process salt, and the index maps
+// that digest to the employee. The key is secret, so how long a lookup takes says nothing about the passcode.
+// A passcode shared by two employees in the same role (the manager screen refuses new ones, but older rows can
+// have them) still signs in, as the lowest employeeID, with the result flagged ambiguous. The index reloads when the employee table's fingerprint changes (checked in the
+// background) or when a manager edits employees on this terminal. Failed attempts back off on a lock-free counter.
+public final class AuthService {
+
+    private static final long VERSION_CHECK_PERIOD_SEC = 60;
+    private static final int FREE_ATTEMPTS = 5;
+    private static final long MAX_LOCKOUT_MS = 60_000;
+
+    private static final String EMPLOYEE_QUERY = """
+        SELECT employeeID, employeePosition, employeePasscode
+        FROM employee
+        ORDER BY employeeID
+    """;
+
+    private static final String VERSION_QUERY = """
+        SELECT md5(COALESCE(string_agg(
+                   concat_ws('|', employeeID, employeePosition, employeePasscode),
+                   ',' ORDER BY employeeID), '')) AS version
+        FROM employee
+    """;
+
+    public enum Status { OK, INVALID, THROTTLED }
+
+    // employeeID is -1 unless status is OK; retryAfterMs is only set when THROTTLED.
+    // ambiguous: the passcode belongs to more than one employee in the role, so employeeID is only the first of them.
+    public record Result(Status status, int employeeID, long retryAfterMs, boolean ambiguous) {}
+
+    private record Index(String version, Map<String, Integer> byDigest, Set<String> shared) {}
+
+    private static final byte[] SALT = new byte[32];
+    static {
+        new SecureRandom().nextBytes(SALT);
+    }
+
+    private static volatile Index index = null;
+    private static volatile int signedInEmployeeID = -1;
+    private static ScheduledExecutorService refresher = null;
+
+    private static final AtomicInteger failedAttempts = new AtomicInteger();
+    private static final AtomicLong lockedUntil = new AtomicLong();
+
+    private AuthService() {}
+
+    // ===== VERIFY =====
+    public static boolean isLoaded() {
+        return index != null;
+    }
+
+    // Pure in-memory check: one HMAC and one hash lookup
+    public static Result verify(String role, String passcode) {
+        long now = System.currentTimeMillis();
+        long until = lockedUntil.get();
+        if (now < until) {
+            return new Result(Status.THROTTLED, -1, until - now, false);
+        }
+
+        Index current = index;
+        String key = HexFormat.of().formatHex(digest(role, passcode));
+        Integer employeeID = current == null ? null : current.byDigest().get(key);
+        if (employeeID != null) {
+            failedAttempts.set(0);
+            signedInEmployeeID = employeeID;
+            return new Result(Status.OK, employeeID, 0, current.shared().contains(key));
+        }
+
+        recordFailure(now);
+        return new Result(Status.INVALID, -1, 0, false);
+    }
+
+    // Employee who last signed in on this terminal; orders are attributed to them
+    public static int getSignedInEmployeeID() {
+        return signedInEmployeeID;
+    }
+
+    // After FREE_ATTEMPTS misses, each further miss doubles the lockout (1 s, 2 s, 4 s, ... capped at a minute)
+    private static void recordFailure(long now) {
+        int failures = failedAttempts.incrementAndGet();
+        if (failures < FREE_ATTEMPTS) return;
+        long lockout = Math.min(MAX_LOCKOUT_MS, 1000L << Math.min(failures - FREE_ATTEMPTS, 16));
+        lockedUntil.accumulateAndGet(now + lockout, Math::max);
+    }
+
+    private static byte[] digest(String role, String passcode) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SALT, "HmacSHA256"));
+            return mac.doFinal((role + '\0' + (passcode == null ? "" : passcode)).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    // ===== LOAD / REFRESH =====
+    // Loads the index on a data worker and starts the background fingerprint check.
+    public static CompletableFuture<Boolean> refreshAsync() {
+        return DataExecutor.submit(conn -> {
+            load(conn, readVersion(conn));
+            startRefresher();
+            return true;
+        });
+    }
+
+    static boolean refreshIfChanged(Connection conn) throws SQLException {
+        String version = readVersion(conn);
+        Index current = index;
+        if (current != null && version.equals(current.version())) return false;
+        load(conn, version);
+        return true;
+    }
+
+    private static synchronized void startRefresher() {
+        if (refresher != null) return;
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "auth-index-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                DataExecutor.submit(AuthService::refreshIfChanged).join();
+            } catch (Exception e) {
+                System.err.println(" Employee index refresh failed: " + e.getMessage());
+            }
+        }, VERSION_CHECK_PERIOD_SEC, VERSION_CHECK_PERIOD_SEC, TimeUnit.SECONDS);
+    }
+
+    private static String readVersion(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(VERSION_QUERY);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getString("version");
+        }
+    }
+
+    private static synchronized void load(Connection conn, String version) throws SQLException {
+        Map<String, Integer> byDigest = new HashMap<>();
+        Set<String> shared = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement(EMPLOYEE_QUERY);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                String passcode = rs.getString("employeePasscode");
+                if (passcode == null || passcode.isEmpty()) continue;
+                String role = rs.getString("employeePosition");
+                int employeeID = rs.getInt("employeeID");
+                String key = HexFormat.of().formatHex(digest(role, passcode));
+                Integer first = byDigest.putIfAbsent(key, employeeID);
+                if (first != null) {
+                    shared.add(key);
+                    System.err.println(" Employees " + first + " and " + employeeID + " share a " + role
+                            + " passcode; sign-ins with it are attributed to " + first + ".");
+                }
+            }
+        }
+        index = new Index(version, Collections.unmodifiableMap(byDigest), Collections.unmodifiableSet(shared));
+    }
+}
@@ -0,0 +1,104 @@
+package app;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Publishes the set of menuIDs that are in season today.
+// The set is swapped atomically when the menu reloads, at local midnight, or when a simulated
+// session date is set, so readers only ever do one bit test against a consistent set.
+public final class AvailabilityScheduler {
+
+    private record Published(SeasonalCalendar calendar, LocalDate date, BitSet active) {}
+
+    private static final AtomicReference<Published> published = new AtomicReference<>();
+    private static final AtomicLong generation = new AtomicLong();
+    private static final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private static volatile LocalDate simulatedDate = null;
+    private static ScheduledExecutorService midnightTimer = null;
+
+    private AvailabilityScheduler() {}
+
+    // ===== READ =====
+    // Before the first menu load nothing has been published, so nothing is shown.
+    public static boolean isAvailable(int menuID) {
+        Published current = published.get();
+        return current != null && current.active().get(menuID);
+    }
+
+    // Bumped on every publish (menu reload, date change, midnight), so screens can tell when to re-render
+    public static long getGeneration() {
+        return generation.get();
+    }
+
+    // Listeners run on the publishing thread
+    public static void addChangeListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeChangeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    public static LocalDate getEffectiveDate() {
+        LocalDate simulated = simulatedDate;
+        return simulated != null ? simulated : LocalDate.now();
+    }
+
+    // ===== PUBLISH =====
+    // Writers are synchronized so a menu reload and a date change cannot publish a stale calendar;
+    // readers never lock. Called by MenuCatalog after each (re)load.
+    public static void onMenuLoaded(List<MenuCatalog.MenuItem> items) {
+        publish(new SeasonalCalendar(items));
+        startMidnightTimer();
+    }
+
+    // Pins availability to a simulated session date (see CashierController.setCurrDate)
+    public static synchronized void setSimulatedDate(LocalDate date) {
+        simulatedDate = date;
+        Published current = published.get();
+        if (current != null) publish(current.calendar());
+    }
+
+    private static synchronized void publish(SeasonalCalendar calendar) {
+        LocalDate date = getEffectiveDate();
+        published.set(new Published(calendar, date, calendar.activeOn(date)));
+        generation.incrementAndGet();
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    // ===== MIDNIGHT CUTOVER =====
+    private static synchronized void startMidnightTimer() {
+        if (midnightTimer != null) return;
+        midnightTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "availability-midnight");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduleNextCutover();
+    }
+
+    private static void scheduleNextCutover() {
+        LocalDateTime now = LocalDateTime.now();
+        long delayMs = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toMillis();
+        midnightTimer.schedule(() -> {
+            synchronized (AvailabilityScheduler.class) {
+                Published current = published.get();
+                if (current != null && !current.date().equals(getEffectiveDate())) {
+                    publish(current.calendar());
+                }
+            }
+            scheduleNextCutover();
+        }, delayMs + 1, TimeUnit.MILLISECONDS);
+    }
+}
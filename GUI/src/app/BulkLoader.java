@@ -0,0 +1,342 @@
+package app;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+// Loads the seed CSVs with COPY ... FROM STDIN through PGJDBC's CopyManager, streaming each file from disk.
+// Foreign keys, primary keys and secondary indexes on the target tables are captured and dropped first, every table
+// is then copied in parallel (each in its own transaction: TRUNCATE + COPY FREEZE), and the keys and indexes are
+// rebuilt afterwards, so each index is built once and each foreign key is validated once in bulk.
+// Replaces the contents of the target tables, so it refuses to run against non-empty tables without --replace.
+// A table can also come from a directory of part files named after the CSV (order/, orderItem/, modifications/ as
+// written by SalesHistoryGenerator); its parts are copied in name order inside the table's one transaction.
+//
+// java -cp "GUI/bin;GUI/lib/postgresql-42.7.3.jar" app.BulkLoader --url jdbc:postgresql://localhost:5432/postgres
+//      --user postgres --password secret --dir Database/DatabaseSeed [--replace] [--jobs 4]
+public final class BulkLoader {
+
+    // CSV file -> table and the table columns in the file's column order
+    record TableLoad(String table, String file, String columns) {}
+
+    private static final TableLoad ORDERS = new TableLoad("ordertest", "order.csv",
+            "orderID, employeeID, orderLocation, orderDate, orderTotal");
+    private static final TableLoad ORDER_ITEMS = new TableLoad("orderItem", "orderItem.csv",
+            "orderItemID, menuID, priceAtPurchase, quantityPurchased, orderID, orderSize");
+
+    static final List<TableLoad> SEED_TABLES = List.of(
+            new TableLoad("menu", "menu.csv",
+                    "menuID, menuName, category, price, menuImage, menuDescription, seasonalStart, seasonalEnd"),
+            new TableLoad("employee", "employee.csv",
+                    "employeeID, employeeName, employeePosition, employeePasscode"),
+            new TableLoad("inventory", "inventory.csv",
+                    "inventoryID, inventoryName, quantityAvailable, restockPrice, addOnPrice, restockOrdered, unit, allergy, restockMin"),
+            new TableLoad("locationTable", "location.csv",
+                    "locationID, locationName, locationAddress, locationPhoneNum"),
+            new TableLoad("menuInfo", "menuInfo.csv",
+                    "menuInfoID, inventoryID, menuID, menuInfoQuantity"),
+            ORDERS,
+            ORDER_ITEMS,
+            new TableLoad("modification", "modifications.csv",
+                    "modificationID, inventoryID, orderItemID, modificationQuantity, cost"));
+
+    private static final String CONSTRAINTS_QUERY = """
+        SELECT conrelid::regclass::text AS tableName, conname, contype, pg_get_constraintdef(oid) AS definition
+        FROM pg_constraint
+        WHERE contype IN ('p', 'u', 'f')
+          AND (conrelid = ANY (?::regclass[]) OR confrelid = ANY (?::regclass[]))
+        ORDER BY contype DESC, conname
+    """;
+
+    private static final String INDEXES_QUERY = """
+        SELECT i.indexrelid::regclass::text AS indexName, pg_get_indexdef(i.indexrelid) AS definition
+        FROM pg_index i
+        WHERE i.indrelid = ANY (?::regclass[])
+          AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid)
+    """;
+
+    record Constraint(String table, String name, char type, String definition) {}
+
+    record Index(String name, String definition) {}
+
+    record LoadResult(String table, long rows, long millis) {}
+
+    private final Path dir;
+    private final boolean replace;
+    private final int jobs;
+
+    BulkLoader(Path dir, boolean replace, int jobs) {
+        this.dir = dir;
+        this.replace = replace;
+        this.jobs = jobs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new TreeMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--replace")) opts.put("replace", "true");
+            else if (i + 1 < args.length) opts.put(args[i].replaceFirst("^--", ""), args[++i]);
+        }
+        DatabaseConnector.setDbUrl(opts.getOrDefault("url", "jdbc:postgresql://localhost:5432/postgres"));
+        DatabaseConnector.setDbUser(opts.getOrDefault("user", "postgres"));
+        DatabaseConnector.setDbPassword(opts.getOrDefault("password", ""));
+
+        int jobs = Integer.parseInt(opts.getOrDefault("jobs", "4"));
+        DatabaseConnector.setPoolSize(1, jobs + 1);
+        // COPY and backfills hold a connection for as long as they take
+        DatabaseConnector.setLeakThreshold(0);
+        try {
+            new BulkLoader(Path.of(opts.getOrDefault("dir", "Database/DatabaseSeed")), opts.containsKey("replace"), jobs).run();
+        } finally {
+            DatabaseConnector.shutdown();
+        }
+    }
+
+    // ===== RUN =====
+    void run() throws Exception {
+        Map<TableLoad, List<Path>> files = new LinkedHashMap<>();
+        for (TableLoad load : SEED_TABLES) {
+            List<Path> parts = filesFor(dir, load);
+            if (!parts.isEmpty()) files.put(load, parts);
+            else System.out.println("Skipping " + load.table() + ": " + dir.resolve(load.file()) + " not found.");
+        }
+        List<TableLoad> loads = new ArrayList<>(files.keySet());
+        if (loads.isEmpty()) throw new IllegalStateException("No CSV files found in " + dir);
+        String[] tables = loads.stream().map(TableLoad::table).toArray(String[]::new);
+
+        List<Constraint> constraints;
+        List<Index> indexes;
+        long started = System.nanoTime();
+        try (Connection conn = connect()) {
+            SchemaMigrator.migrate(conn);
+            if (!replace) requireEmpty(conn, tables);
+            constraints = readConstraints(conn, tables);
+            indexes = readIndexes(conn, tables);
+            dropKeys(conn, constraints, indexes);
+        }
+        System.out.printf("Dropped %d constraints and %d indexes (%d ms)%n",
+                constraints.size(), indexes.size(), elapsedMs(started));
+
+        long loadStarted = System.nanoTime();
+        List<LoadResult> results = new ArrayList<>();
+        try {
+            results = copyAll(files);
+        } finally {
+            // Keys come back even if a copy failed, so the schema is never left without them
+            long rebuildStarted = System.nanoTime();
+            rebuildKeys(constraints, indexes);
+            System.out.printf("Rebuilt keys and indexes (%d ms)%n", elapsedMs(rebuildStarted));
+        }
+
+        long loadMs = Math.max(1, (System.nanoTime() - loadStarted) / 1_000_000);
+        long totalRows = 0;
+        for (LoadResult result : results) {
+            totalRows += result.rows();
+            System.out.printf("  %-14s %10d rows %8d ms %12.0f rows/s%n", result.table(), result.rows(), result.millis(),
+                    result.rows() * 1000.0 / Math.max(1, result.millis()));
+        }
+
+        try (Connection conn = connect(); Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE " + String.join(", ", tables));
+            syncIdSequences(conn);
+            // COPY bypasses OrderWriter, so rebuild the report rollups from the loaded history
+            if (files.containsKey(ORDERS) || files.containsKey(ORDER_ITEMS)) {
+                long rollupStarted = System.nanoTime();
+                SalesRollup.backfill(conn);
+                System.out.printf("Rebuilt sales rollups (%d ms)%n", elapsedMs(rollupStarted));
+                long usageStarted = System.nanoTime();
+                UsageLedger.backfill(jobs);
+                System.out.printf("Rebuilt ingredient usage ledger (%d ms)%n", elapsedMs(usageStarted));
+            }
+        }
+        System.out.printf("Loaded %d rows in %d ms including key rebuild (%.0f rows/s); total %d ms%n",
+                totalRows, loadMs, totalRows * 1000.0 / loadMs, elapsedMs(started));
+    }
+
+    private static Connection connect() throws SQLException {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) throw new SQLException("Could not connect to database.");
+        return conn;
+    }
+
+    private static long elapsedMs(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    // ===== COPY =====
+    // The single CSV if present, otherwise every .csv in the directory named after it (e.g. order/ for order.csv)
+    static List<Path> filesFor(Path dir, TableLoad load) throws IOException {
+        Path single = dir.resolve(load.file());
+        if (Files.isRegularFile(single)) return List.of(single);
+        Path parts = dir.resolve(load.file().replaceFirst("\\.csv$", ""));
+        if (!Files.isDirectory(parts)) return List.of();
+        try (Stream<Path> listing = Files.list(parts)) {
+            return listing.filter(path -> path.getFileName().toString().endsWith(".csv")).sorted().toList();
+        }
+    }
+
+    private List<LoadResult> copyAll(Map<TableLoad, List<Path>> files) throws Exception {
+        List<Future<LoadResult>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(jobs, Thread.ofVirtual().name("bulk-load-", 0).factory())) {
+            for (Map.Entry<TableLoad, List<Path>> entry : files.entrySet()) {
+                futures.add(pool.submit(() -> copyTable(entry.getKey(), entry.getValue())));
+            }
+        }
+        List<LoadResult> results = new ArrayList<>();
+        for (Future<LoadResult> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    // TRUNCATE and COPY in one transaction lets COPY FREEZE write rows already frozen (no later vacuum pass)
+    private LoadResult copyTable(TableLoad load, List<Path> files) throws SQLException, IOException {
+        long started = System.nanoTime();
+        long rows = 0;
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("TRUNCATE " + load.table());
+            }
+            CopyManager copy = conn.unwrap(PGConnection.class).getCopyAPI();
+            String sql = "COPY " + load.table() + " (" + load.columns() + ") FROM STDIN WITH (FORMAT csv, HEADER true, FREEZE true)";
+            for (Path file : files) {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    rows += copy.copyIn(sql, reader, 1 << 16);
+                }
+            }
+            conn.commit();
+        }
+        return new LoadResult(load.table(), rows, elapsedMs(started));
+    }
+
+    // ===== KEYS AND INDEXES =====
+    private static void requireEmpty(Connection conn, String[] tables) throws SQLException {
+        for (String table : tables) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT EXISTS (SELECT 1 FROM " + table + ")")) {
+                rs.next();
+                if (rs.getBoolean(1)) {
+                    throw new IllegalStateException(table + " already has rows; rerun with --replace to overwrite the seed tables.");
+                }
+            }
+        }
+    }
+
+    private static List<Constraint> readConstraints(Connection conn, String[] tables) throws SQLException {
+        List<Constraint> constraints = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(CONSTRAINTS_QUERY)) {
+            stmt.setArray(1, conn.createArrayOf("text", tables));
+            stmt.setArray(2, conn.createArrayOf("text", tables));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    constraints.add(new Constraint(rs.getString("tableName"), rs.getString("conname"),
+                            rs.getString("contype").charAt(0), rs.getString("definition")));
+                }
+            }
+        }
+        return constraints;
+    }
+
+    private static List<Index> readIndexes(Connection conn, String[] tables) throws SQLException {
+        List<Index> indexes = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(INDEXES_QUERY)) {
+            stmt.setArray(1, conn.createArrayOf("text", tables));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    indexes.add(new Index(rs.getString("indexName"), rs.getString("definition")));
+                }
+            }
+        }
+        return indexes;
+    }
+
+    // Foreign keys first: a primary key cannot be dropped while a foreign key depends on it
+    private static void dropKeys(Connection conn, List<Constraint> constraints, List<Index> indexes) throws SQLException {
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            for (Constraint c : constraints) {
+                if (c.type() == 'f') stmt.execute("ALTER TABLE " + c.table() + " DROP CONSTRAINT " + c.name());
+            }
+            for (Constraint c : constraints) {
+                if (c.type() != 'f') stmt.execute("ALTER TABLE " + c.table() + " DROP CONSTRAINT " + c.name());
+            }
+            for (Index index : indexes) {
+                stmt.execute("DROP INDEX " + index.name());
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    // Primary/unique keys and indexes are built in parallel (one table each), then foreign keys are validated
+    private void rebuildKeys(List<Constraint> constraints, List<Index> indexes) throws Exception {
+        List<String> keyStatements = new ArrayList<>();
+        List<String> foreignKeys = new ArrayList<>();
+        for (Constraint c : constraints) {
+            String ddl = "ALTER TABLE " + c.table() + " ADD CONSTRAINT " + c.name() + " " + c.definition();
+            (c.type() == 'f' ? foreignKeys : keyStatements).add(ddl);
+        }
+        for (Index index : indexes) {
+            keyStatements.add(index.definition());
+        }
+        runParallel(keyStatements);
+        runParallel(foreignKeys);
+    }
+
+    private void runParallel(List<String> statements) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(jobs, Thread.ofVirtual().name("bulk-ddl-", 0).factory())) {
+            for (String ddl : statements) {
+                futures.add(pool.submit(() -> {
+                    try (Connection conn = connect(); Statement stmt = conn.createStatement()) {
+                        stmt.execute(ddl);
+                    } catch (SQLException e) {
+                        System.err.println("Failed: " + ddl + " -> " + e.getMessage());
+                        throw e;
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    // Moves the hi/lo sequences past the loaded ids (see IdAllocator)
+    private static void syncIdSequences(Connection conn) throws SQLException {
+        String[][] sequences = {
+                { "order_id_hilo_seq", "ordertest", "orderID" },
+                { "order_item_id_hilo_seq", "orderItem", "orderItemID" },
+                { "modification_id_hilo_seq", "modification", "modificationID" } };
+        try (Statement stmt = conn.createStatement()) {
+            for (String[] s : sequences) {
+                stmt.execute("CREATE SEQUENCE IF NOT EXISTS " + s[0]);
+                stmt.execute("SELECT setval('" + s[0] + "', GREATEST((SELECT COALESCE(MAX(" + s[2] + "), 0) FROM " + s[1]
+                        + ") / " + IdAllocator.BLOCK_SIZE + " + 1, (SELECT last_value FROM " + s[0] + ")))");
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package app;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The cashier's cart: an observable list of typed lines (bound to the order ListView) plus running totals.
+public final class Cart {
+
+    private final ObservableList<CartLine> lines = FXCollections.observableArrayList();
+    private final PricingEngine pricing = new PricingEngine();
+
+    public ObservableList<CartLine> getLines() {
+        return lines;
+    }
+
+    public PricingEngine getPricing() {
+        return pricing;
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    public int size() {
+        return lines.size();
+    }
+
+    // ===== EDIT =====
+    public void add(CartLine line) {
+        lines.add(line);
+        pricing.add(line);
+    }
+
+    public void remove(int index) {
+        pricing.remove(lines.remove(index));
+    }
+
+    // Drops the first count lines, e.g. the ones that were just submitted
+    public void removeFirst(int count) {
+        for (int i = 0; i < count; i++) {
+            pricing.remove(lines.get(i));
+        }
+        lines.remove(0, count);
+        if (lines.isEmpty()) pricing.clear();
+    }
+
+    // ===== SUBMIT =====
+    public List<Order.Line> toOrderLines() {
+        List<Order.Line> orderLines = new ArrayList<>(lines.size());
+        for (CartLine line : lines) {
+            orderLines.add(line.toOrderLine());
+        }
+        return List.copyOf(orderLines);
+    }
+}
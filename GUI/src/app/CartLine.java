@@ -0,0 +1,45 @@
+package app;
+
+import java.util.List;
+
+// One drink in the cashier's cart. Prices are in cents; the ListView renders toString().
+public record CartLine(int menuID, String name, int size, int quantity, long baseCents, List<Order.Modification> modifiers) {
+
+    public CartLine {
+        modifiers = List.copyOf(modifiers);
+    }
+
+    // ===== PRICING =====
+    public long addOnCents() {
+        long cents = 0;
+        for (Order.Modification mod : modifiers) {
+            if (mod.quantity() > 0) cents += mod.costCents() * mod.quantity();
+        }
+        return cents;
+    }
+
+    public long unitCents() {
+        return baseCents + addOnCents();
+    }
+
+    public long lineCents() {
+        return unitCents() * quantity;
+    }
+
+    // ===== PERSISTENCE =====
+    public Order.Line toOrderLine() {
+        return new Order.Line(menuID, name, unitCents(), quantity, size, modifiers);
+    }
+
+    // ===== DISPLAY =====
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(name).append(" [");
+        for (Order.Modification mod : modifiers) {
+            text.append(mod.quantity() < 0 ? "-" : "+").append(mod.name()).append(' ');
+        }
+        if (text.charAt(text.length() - 1) == ' ') text.setLength(text.length() - 1);
+        text.append("] - ").append(PricingEngine.format(lineCents()));
+        return text.toString();
+    }
+}
@@ -1,22 +1,22 @@
 package app;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 
-import java.io.File;
 import java.io.InputStream;
 import java.sql.*;
 import java.util.*;
 import java.time.*;
+import java.util.concurrent.CompletableFuture;
 
 
 
@@ -24,12 +24,19 @@ public class CashierController {
 
     //FXML Connections
     @FXML private FlowPane drinkPane;
-    @FXML private ListView<String> orderListView;
+    @FXML private ListView<CartLine> orderListView;
     @FXML private Label totalLabel;
     @FXML private Button btnBack;
+    @FXML private Button btnSubmitOrder;
+    @FXML private Button btnRemoveItem;
 
 
-    private double total = 0.0;
+    private final Cart cart = new Cart();
+    private final DataExecutor.Lane menuLane = new DataExecutor.Lane();
+    private final Map<Integer, DrinkCard> cardCache = new HashMap<>();
+    private final Map<String, List<Node>> categoryCards = new HashMap<>();
+    private long cardsGeneration = -1;
+    private String shownCategory = null;
     private static LocalDateTime currDateTime = LocalDateTime.now();
 
     // ===== CATEGORY BUTTON HANDLERS =====
@@ -45,6 +52,7 @@ public class CashierController {
     public static void setCurrDate(String date){
         LocalDate currDay = LocalDate.parse(date);
         currDateTime = currDay.atStartOfDay();
+        AvailabilityScheduler.setSimulatedDate(currDay);
     }
 
     private void randomizeTime(){
@@ -60,133 +68,74 @@ public class CashierController {
                 .withNano(0);
     }
 
-    // ===== LOAD MENU IMAGE WITH FALLBACK =====
-private Image loadMenuImage(int imageID) {
-    String basePath = System.getProperty("user.dir") + "/GUI/src/images/";
-    File imageFile = new File(basePath + imageID + ".png");
-
-    if (imageFile.exists()) {
-        return new Image(imageFile.toURI().toString());
-    }
-
-    File defaultFile = new File(basePath + "default.png");
-    if (defaultFile.exists()) {
-        System.out.println("Missing image for ID " + imageID + ", using default.");
-        return new Image(defaultFile.toURI().toString());
-    }
-
-    System.err.println("Default image missing! Please ensure default.png exists.");
-    return null;
-}
-    // ===== LOAD DRINKS FROM DATABASE =====
+    // ===== LOAD DRINKS FROM MENU CATALOG =====
+    // The menu is cached in memory at login, so switching categories needs no database round trip.
+    // Card nodes are built once per item and each category's list is swapped into drinkPane by reference.
     private void loadDrinks(String category) {
-        drinkPane.getChildren().clear();
+        if (!MenuCatalog.isLoaded()) {
+            // Screen opened without going through login: load the catalog once, then render
+            menuLane.run(conn -> {
+                MenuCatalog.start(conn);
+                return category;
+            }, this::loadDrinks, error -> {
+                error.printStackTrace();
+                Label failed = new Label("Could not load items for: " + category);
+                failed.getStyleClass().add("no-items");
+                drinkPane.getChildren().setAll(failed);
+            });
+            return;
+        }
 
-        try (Connection conn = DatabaseConnector.getConnection()) {
-            if (conn == null) {
-                System.err.println(" Could not connect to database.");
-                return;
-            }
+        shownCategory = category;
+        long generation = AvailabilityScheduler.getGeneration();
+        if (generation != cardsGeneration) {
+            // Menu reloaded or the day changed: category lists are rebuilt from the same card nodes
+            categoryCards.clear();
+            cardsGeneration = generation;
+        }
+        drinkPane.getChildren().setAll(categoryCards.computeIfAbsent(category, this::buildCategoryCards));
+    }
 
-            String query = "SELECT menuName, price, menuImage, SeasonalStart, SeasonalEnd FROM menu WHERE category = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(query)) {
-                stmt.setString(1, category);
-                ResultSet rs = stmt.executeQuery();
-
-                boolean found = false;
-
-                while (rs.next()) {
-                    Timestamp startTs = rs.getTimestamp("SeasonalStart");
-                    Timestamp endTs = rs.getTimestamp("SeasonalEnd");
-
-                    boolean showItem = false;
-                    if(startTs == null || endTs == null)
-                    {
-                        showItem = true;
-                    }
-                    else{
-                        LocalDateTime start = startTs.toLocalDateTime();
-                        LocalDateTime end = endTs.toLocalDateTime();
-
-                        int startMonth = start.getMonthValue();
-                        int startDay = start.getDayOfMonth();
-                        int endMonth = end.getMonthValue();
-                        int endDay = end.getDayOfMonth();
-
-                        int currMonth = currDateTime.getMonthValue();
-                        int currDay = currDateTime.getDayOfMonth();
-
-                        // Compare by month/day only
-                        boolean afterStart = (currMonth > startMonth) || (currMonth == startMonth && currDay >= startDay);
-                        boolean beforeEnd = (currMonth < endMonth) || (currMonth == endMonth && currDay <= endDay);
-
-                        // Handle wrap-around seasons (e.g., starts in Nov, ends in Feb)
-                        if (endMonth < startMonth) {
-                            showItem = afterStart || beforeEnd;
-                        } else {
-                            showItem = afterStart && beforeEnd;
-                        }
-                    }
-                    if(showItem)
-                    {
-                        found = true;
-                        String name = rs.getString("menuName");
-                        double price = rs.getDouble("price");
-                        int imageID = rs.getInt("menuImage");
-                        VBox card = createDrinkCard(name, price, imageID);
-                        drinkPane.getChildren().add(card);
-                        System.out.println("Loaded from DB: " + name + " - $" + price);
-                    }
-                }
-
-                if (!found) {
-                    Label noItems = new Label("No items found for: " + category);
-                    noItems.setStyle("-fx-text-fill: gray;");
-                    drinkPane.getChildren().add(noItems);
-                }
+    private List<Node> buildCategoryCards(String category) {
+        List<Node> cards = new ArrayList<>();
+        for (MenuCatalog.MenuItem item : MenuCatalog.getCategory(category)) {
+            if (!AvailabilityScheduler.isAvailable(item.menuID())) continue;
+
+            DrinkCard card = cardCache.get(item.menuID());
+            if (card == null) {
+                card = new DrinkCard(item, this::showDrinkOptions);
+                cardCache.put(item.menuID(), card);
+            } else {
+                card.update(item);
             }
+            cards.add(card);
+        }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+        if (cards.isEmpty()) {
+            Label noItems = new Label("No items found for: " + category);
+            noItems.getStyleClass().add("no-items");
+            cards.add(noItems);
         }
+        return List.copyOf(cards);
     }
 
-    // ===== CREATE DRINK CARD =====
-    private VBox createDrinkCard(String name, double basePrice, int imageID) {
-        VBox card = new VBox(10);
-        card.setPrefWidth(160);
-        card.setAlignment(Pos.CENTER);
-        card.setStyle("""
-            -fx-border-color: #ccc;
-            -fx-background-color: #f9f9f9;
-            -fx-border-radius: 8;
-            -fx-padding: 12;
-            -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 4, 0, 0, 2);
-        """);
-
-        // Load image
-        Image image = loadMenuImage(imageID);
-        ImageView imageView = new ImageView(image);
-        imageView.setFitWidth(100);
-        imageView.setFitHeight(100);
-        imageView.setPreserveRatio(true);
-
-        Label nameLabel = new Label(name);
-        nameLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
-        Label priceLabel = new Label(String.format("$%.2f", basePrice));
-        priceLabel.setStyle("-fx-text-fill: #444;");
-        Button selectButton = new Button("Select");
-        selectButton.setStyle("-fx-background-color: #a6b1b7; -fx-text-fill: white;");
-
-
-        selectButton.setOnAction(e -> showDrinkOptions(name, basePrice));
-
-        card.getChildren().addAll(imageView, nameLabel, priceLabel, selectButton);
-        return card;
+    // Catalog reloads and midnight cutovers re-render the visible category with the updated cards
+    private final Runnable availabilityListener = () -> Platform.runLater(() -> {
+        if (shownCategory != null) loadDrinks(shownCategory);
+    });
+
+    @FXML
+    private void initialize() {
+        AvailabilityScheduler.addChangeListener(availabilityListener);
+        orderListView.setItems(cart.getLines());
+        updateTotalLabel();
     }
 
     // ===== DRINK OPTIONS POP-UP =====
-    private void showDrinkOptions(String drinkName, double basePrice) {
+    // Options and prices come from ModifierCatalog, built with the menu, so opening the dialog runs no query
+    private void showDrinkOptions(MenuCatalog.MenuItem item) {
+        String drinkName = item.name();
+        ModifierCatalog.DrinkModifiers options = ModifierCatalog.get(item.menuID());
         Dialog<ButtonType> dialog = new Dialog<>();
         dialog.setTitle("Customize " + drinkName);
         dialog.setHeaderText("Select ingredients / options");
@@ -194,74 +143,68 @@ private Image loadMenuImage(int imageID) {
         VBox content = new VBox(8);
         content.setPadding(new Insets(10));
 
-        List<String> baseIngredients = new ArrayList<>(List.of("Milk", "Sugar", "Boba", "Ice"));
-        List<String> extras = new ArrayList<>(List.of("Aloe", "Pudding", "Jelly", "Extra Boba"));
-
         Label baseLabel = new Label("Remove Ingredients:");
         content.getChildren().add(baseLabel);
-        List<CheckBox> baseChecks = new ArrayList<>();
-        for (String ingr : baseIngredients) {
-            CheckBox cb = new CheckBox(ingr);
+        Map<CheckBox, ModifierCatalog.Modifier> baseChecks = new LinkedHashMap<>();
+        for (ModifierCatalog.Modifier ingr : options.removable()) {
+            CheckBox cb = new CheckBox(ingr.label());
             cb.setSelected(true);
-            baseChecks.add(cb);
+            baseChecks.put(cb, ingr);
             content.getChildren().add(cb);
         }
 
-        Label extraLabel = new Label("\nAdd Extras (+$0.50 each):");
+        Label extraLabel = new Label("\nAdd Extras:");
         content.getChildren().add(extraLabel);
-        List<CheckBox> extraChecks = new ArrayList<>();
-        for (String ingr : extras) {
-            CheckBox cb = new CheckBox(ingr);
-            extraChecks.add(cb);
-            content.getChildren().add(cb);
+        TilePane extrasPane = new TilePane(12, 6);
+        extrasPane.setPrefColumns(2);
+        Map<CheckBox, ModifierCatalog.Modifier> extraChecks = new LinkedHashMap<>();
+        for (ModifierCatalog.Modifier ingr : options.extras()) {
+            CheckBox cb = new CheckBox(ingr.label() + " +" + PricingEngine.format(ingr.priceCents()));
+            extraChecks.put(cb, ingr);
+            extrasPane.getChildren().add(cb);
         }
+        content.getChildren().add(extrasPane);
 
         dialog.getDialogPane().setContent(content);
         dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
 
         dialog.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                double itemPrice = basePrice;
-                StringBuilder description = new StringBuilder(drinkName + " [");
-
-                for (CheckBox cb : baseChecks) {
-                    if (!cb.isSelected()) description.append("-").append(cb.getText()).append(" ");
-                }
-
-                for (CheckBox cb : extraChecks) {
-                    if (cb.isSelected()) {
-                        description.append("+").append(cb.getText()).append(" ");
-                        itemPrice += 0.50;
-                    }
-                }
-
-                description.append("]");
-                addToOrder(description.toString().trim(), itemPrice);
+                List<Order.Modification> modifiers = new ArrayList<>();
+
+                baseChecks.forEach((cb, ingr) -> {
+                    if (!cb.isSelected()) modifiers.add(new Order.Modification(ingr.inventoryID(), ingr.name(), -1, 0));
+                });
+
+                extraChecks.forEach((cb, ingr) -> {
+                    if (cb.isSelected()) modifiers.add(new Order.Modification(ingr.inventoryID(), ingr.name(), 1, ingr.priceCents()));
+                });
+
+                addToOrder(new CartLine(item.menuID(), drinkName, 0, 1, PricingEngine.toCents(item.price()), modifiers));
             }
         });
     }
 
     // ===== ADD TO ORDER =====
-    private void addToOrder(String itemName, double price) {
-        orderListView.getItems().add(String.format("%s - $%.2f", itemName, price));
-        total += price;
-        totalLabel.setText(String.format("Total: $%.2f", total));
+    private void addToOrder(CartLine line) {
+        cart.add(line);
+        updateTotalLabel();
+    }
+
+    private void updateTotalLabel() {
+        PricingEngine pricing = cart.getPricing();
+        // The order panel is narrow, so the tax is shown inline rather than as a separate subtotal row
+        totalLabel.setText("Total: " + PricingEngine.format(pricing.getTotalCents())
+                + " (tax " + PricingEngine.format(pricing.getTaxCents()) + ")");
     }
 
     // ===== REMOVE ITEM =====
     @FXML
     private void handleRemoveItemClick(ActionEvent event) {
-        String selectedItem = orderListView.getSelectionModel().getSelectedItem();
-        if (selectedItem != null) {
-            String priceStr = selectedItem.substring(selectedItem.lastIndexOf('$') + 1);
-            try {
-                double price = Double.parseDouble(priceStr);
-                total -= price;
-                totalLabel.setText(String.format("Total: $%.2f", total));
-            } catch (NumberFormatException e) {
-                System.err.println("Error parsing price: " + e.getMessage());
-            }
-            orderListView.getItems().remove(selectedItem);
+        int selectedIndex = orderListView.getSelectionModel().getSelectedIndex();
+        if (selectedIndex >= 0) {
+            cart.remove(selectedIndex);
+            updateTotalLabel();
         } else {
             Alert alert = new Alert(Alert.AlertType.WARNING);
             alert.setTitle("No Item Selected");
@@ -276,7 +219,7 @@ private Image loadMenuImage(int imageID) {
     private void handleSubmitOrderClick(ActionEvent event) {
         System.out.println("Submit Order button clicked!");
 
-        if (orderListView.getItems().isEmpty()) {
+        if (cart.isEmpty()) {
             Alert alert = new Alert(Alert.AlertType.WARNING);
             alert.setTitle("Empty Order");
             alert.setHeaderText(null);
@@ -285,7 +228,32 @@ private Image loadMenuImage(int imageID) {
             return;
         }
 
-        boolean success = saveOrderToDatabase();
+        // Time is randomized.
+        // Date will either be current system date or modified by user input
+        randomizeTime();
+        Timestamp orderTimestamp = Timestamp.valueOf(currDateTime);
+        int submittedItems = cart.size();
+        // orderTotal is stored before tax, like the existing order history
+        Order order = new Order(AuthService.getSignedInEmployeeID(), "College Station", orderTimestamp,
+                cart.getPricing().getSubtotalCents(), cart.toOrderLines());
+
+        btnSubmitOrder.setDisable(true);
+        btnRemoveItem.setDisable(true);
+        // Queued for the group-commit writer; the future completes once the order's transaction commits
+        CompletableFuture<Integer> saved = OrderPipeline.submit(order);
+        DataExecutor.onFxThread(saved, orderID -> {
+            System.out.println("Order " + orderID + " saved with " + order.lines().size() + " items.");
+            showSubmitResult(true, submittedItems);
+        }, error -> {
+            error.printStackTrace();
+            showSubmitResult(false, submittedItems);
+        });
+    }
+
+    // Only the items that were submitted are cleared; anything added while saving stays in the cart
+    private void showSubmitResult(boolean success, int submittedItems) {
+        btnSubmitOrder.setDisable(false);
+        btnRemoveItem.setDisable(false);
 
         Alert alert = new Alert(success ? Alert.AlertType.INFORMATION : Alert.AlertType.ERROR);
         alert.setTitle(success ? "Order Submitted" : "Database Error");
@@ -296,50 +264,15 @@ private Image loadMenuImage(int imageID) {
         alert.showAndWait();
 
         if (success) {
-            orderListView.getItems().clear();
-            total = 0.0;
-            totalLabel.setText("Total: $0.00");
+            cart.removeFirst(submittedItems);
+            updateTotalLabel();
         }
     }
 
-    // ===== SAVE ORDER TO DATABASE =====
-    private boolean saveOrderToDatabase() {
-        try (Connection conn = DatabaseConnector.getConnection()) {
-            if (conn == null) {
-                System.err.println("Could not connect to database for saving order.");
-                return false;
-            }
-
-            String insertOrder = """
-                INSERT INTO ordertest (orderID, employeeID, orderLocation, orderDate, orderTotal)
-                VALUES ((SELECT COALESCE(MAX(orderID), 0) + 1 FROM ordertest), ?, ?, ?, ?)
-            """;
-
-            try (PreparedStatement stmt = conn.prepareStatement(insertOrder)) {
-                stmt.setInt(1, 1); // hardcoded employeeID for now
-
-                stmt.setString(2, "College Station");
-
-                // Time is randomized.
-                // Date will either be current system date or modified by user input
-                randomizeTime();
-                Timestamp sqlTimestamp = Timestamp.valueOf(currDateTime);
-                stmt.setTimestamp(3, sqlTimestamp);
-
-                stmt.setDouble(4, total);
-
-                int rowsInserted = stmt.executeUpdate();
-                System.out.println("Rows inserted: " + rowsInserted);
-                return rowsInserted > 0;
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
     @FXML
     private void handleBackToLogin() {
+        menuLane.cancel();
+        AvailabilityScheduler.removeChangeListener(availabilityListener);
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/app/LoginView.fxml"));
             Scene scene = new Scene(loader.load(), 800, 600);
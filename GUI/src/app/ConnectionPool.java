@@ -0,0 +1,383 @@
+package app;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded pool of physical JDBC connections.
+// Callers get a proxy whose close() hands the connection back instead of closing the socket,
+// so existing try-with-resources blocks keep working unchanged.
+// A connection held past the leak threshold is reclaimed by the housekeeper. Work that legitimately runs longer
+// marks its connection with exemptFromLeakCheck; batch tools turn the check off with a threshold of 0.
+public final class ConnectionPool {
+
+    // ===== DEFAULT SETTINGS =====
+    public static final int DEFAULT_MIN_SIZE = 2;
+    public static final int DEFAULT_MAX_SIZE = 10;
+    private static final long BORROW_TIMEOUT_MS = 10_000;
+    private static final int VALIDATION_TIMEOUT_SEC = 2;
+    private static final long VALIDATE_AFTER_IDLE_MS = 500;      // skip the isValid round trip for connections just returned
+    private static final long IDLE_VALIDATION_MS = 60_000;       // housekeeper re-validates anything idle this long
+    private static final long IDLE_TIMEOUT_MS = 10 * 60_000;     // idle connections above minSize are closed after this
+    public static final long DEFAULT_LEAK_THRESHOLD_MS = 5 * 60_000; // borrowed longer than this is considered leaked
+    private static final long MAX_LIFETIME_MS = 30 * 60_000;
+    private static final long HOUSEKEEPING_PERIOD_MS = 30_000;
+
+    private final String url;
+    private final Properties connectionProps;
+    private final int minSize;
+    private final int maxSize;
+    private final long leakThresholdMs;  // 0 disables leak reclaiming
+    private final boolean traceLeaks;    // capture the borrower's stack so a reclaimed leak can be traced
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> active = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown = false;
+
+    // ===== STATS =====
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowWaitNanos = new LongAdder();
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leaksReclaimed = new LongAdder();
+
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long leakThresholdMs, boolean traceLeaks) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.leakThresholdMs = leakThresholdMs;
+        this.traceLeaks = traceLeaks;
+        this.permits = new Semaphore(maxSize, true);
+
+        connectionProps = new Properties();
+        connectionProps.setProperty("user", user);
+        connectionProps.setProperty("password", password);
+        // Lets the driver collapse a batch of single-row INSERTs into multi-row INSERTs (see OrderWriter)
+        connectionProps.setProperty("reWriteBatchedInserts", "true");
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_PERIOD_MS, HOUSEKEEPING_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Opens minSize connections up front so the first clicks do not pay for the handshake.
+    public void warmUp() throws SQLException {
+        while (totalCount() < minSize && !shutdown) {
+            idle.offerFirst(openPhysical());
+        }
+    }
+
+    // ===== BORROW / RETURN =====
+    public Connection borrow() throws SQLException {
+        if (shutdown) throw new SQLException("Connection pool is shut down.");
+
+        long waitStart = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(BORROW_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+        recordWait(System.nanoTime() - waitStart);
+        if (!acquired) {
+            borrowTimeouts.increment();
+            throw new SQLException("Timed out after " + BORROW_TIMEOUT_MS + " ms waiting for a database connection "
+                    + "(active=" + active.size() + ", max=" + maxSize + ").");
+        }
+
+        try {
+            PooledConnection pc;
+            while ((pc = idle.pollFirst()) != null) {
+                if (isUsable(pc, System.currentTimeMillis())) break;
+                destroy(pc);
+            }
+            if (pc == null) pc = openPhysical();
+
+            pc.borrowedAt = System.currentTimeMillis();
+            pc.leakExempt = false;
+            // Filling in a stack trace is not free, so only when tracing leaks
+            pc.borrowSite = traceLeaks ? new Throwable("Connection borrowed by " + Thread.currentThread().getName()) : null;
+            active.add(pc);
+            return pc.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // For a borrower that knowingly holds its connection past the leak threshold (history loads, backfills)
+    public void exemptFromLeakCheck(Connection connection) {
+        if (Proxy.isProxyClass(connection.getClass())
+                && Proxy.getInvocationHandler(connection) instanceof Handle handle) {
+            handle.owner.leakExempt = true;
+        }
+    }
+
+    private void giveBack(PooledConnection pc) {
+        if (!active.remove(pc)) return; // already reclaimed as a leak
+
+        boolean reusable = !shutdown && System.currentTimeMillis() - pc.createdAt < MAX_LIFETIME_MS;
+        if (reusable) {
+            try {
+                if (pc.physical.isClosed()) {
+                    reusable = false;
+                } else if (!pc.physical.getAutoCommit()) {
+                    pc.physical.rollback();
+                    pc.physical.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                reusable = false;
+            }
+        }
+
+        if (reusable) {
+            pc.lastUsedAt = System.currentTimeMillis();
+            pc.borrowSite = null;
+            idle.offerFirst(pc);
+        } else {
+            destroy(pc);
+        }
+        permits.release();
+    }
+
+    private boolean isUsable(PooledConnection pc, long now) {
+        if (now - pc.createdAt >= MAX_LIFETIME_MS) return false;
+        if (now - pc.lastUsedAt < VALIDATE_AFTER_IDLE_MS) return true;
+        try {
+            if (pc.physical.isValid(VALIDATION_TIMEOUT_SEC)) return true;
+        } catch (SQLException ignored) {
+            // treated as invalid below
+        }
+        validationFailures.increment();
+        return false;
+    }
+
+    private PooledConnection openPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, connectionProps);
+        created.increment();
+        return new PooledConnection(physical);
+    }
+
+    private void destroy(PooledConnection pc) {
+        try {
+            pc.physical.close();
+        } catch (SQLException ignored) {
+            // connection is being discarded anyway
+        }
+        destroyed.increment();
+    }
+
+    private void recordWait(long nanos) {
+        borrowCount.increment();
+        borrowWaitNanos.add(nanos);
+        maxBorrowWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // ===== HOUSEKEEPING =====
+    // Reclaims leaked connections, retires old or broken idle ones and tops the pool back up to minSize.
+    private void housekeep() {
+        if (shutdown) return;
+        long now = System.currentTimeMillis();
+
+        for (PooledConnection pc : new ArrayList<>(active)) {
+            if (leakThresholdMs <= 0 || pc.leakExempt) continue;
+            if (now - pc.borrowedAt >= leakThresholdMs && active.remove(pc)) {
+                System.err.println(" Reclaiming database connection held for "
+                        + (now - pc.borrowedAt) / 1000 + "s without being closed.");
+                if (pc.borrowSite != null) pc.borrowSite.printStackTrace();
+                else System.err.println(" Run with -Dpos.db.traceLeaks=true to see where it was borrowed.");
+                pc.revoke();
+                destroy(pc);
+                leaksReclaimed.increment();
+                permits.release();
+            }
+        }
+
+        List<PooledConnection> snapshot = new ArrayList<>(idle);
+        for (PooledConnection pc : snapshot) {
+            boolean expired = now - pc.createdAt >= MAX_LIFETIME_MS;
+            boolean surplus = now - pc.lastUsedAt >= IDLE_TIMEOUT_MS && totalCount() > minSize;
+            boolean stale = now - pc.lastUsedAt >= IDLE_VALIDATION_MS;
+            if (!expired && !surplus && !stale) continue;
+            if (!idle.remove(pc)) continue; // borrowed in the meantime
+
+            if (expired || surplus) {
+                destroy(pc);
+            } else if (isUsable(pc, now)) {
+                pc.lastUsedAt = now;
+                idle.offerLast(pc);
+            } else {
+                destroy(pc);
+            }
+        }
+
+        try {
+            warmUp();
+        } catch (SQLException e) {
+            System.err.println(" Could not refill database connection pool: " + e.getMessage());
+        }
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) destroy(pc);
+    }
+
+    private int totalCount() {
+        return idle.size() + active.size();
+    }
+
+    // ===== STATS SNAPSHOT =====
+    public PoolStats getStats() {
+        long borrows = borrowCount.sum();
+        return new PoolStats(
+                active.size(),
+                idle.size(),
+                permits.getQueueLength(),
+                minSize,
+                maxSize,
+                borrows,
+                borrows == 0 ? 0.0 : borrowWaitNanos.sum() / 1_000_000.0 / borrows,
+                maxBorrowWaitNanos.get() / 1_000_000.0,
+                borrowTimeouts.sum(),
+                created.sum(),
+                destroyed.sum(),
+                validationFailures.sum(),
+                leaksReclaimed.sum());
+    }
+
+    public record PoolStats(int active, int idle, int waiting, int minSize, int maxSize,
+                            long borrowCount, double avgBorrowWaitMs, double maxBorrowWaitMs,
+                            long borrowTimeouts, long created, long destroyed,
+                            long validationFailures, long leaksReclaimed) {
+        @Override
+        public String toString() {
+            return String.format("active=%d idle=%d waiting=%d (min=%d max=%d) borrows=%d avgWait=%.3fms maxWait=%.3fms "
+                            + "timeouts=%d created=%d destroyed=%d invalid=%d leaks=%d",
+                    active, idle, waiting, minSize, maxSize, borrowCount, avgBorrowWaitMs, maxBorrowWaitMs,
+                    borrowTimeouts, created, destroyed, validationFailures, leaksReclaimed);
+        }
+    }
+
+    // ===== POOLED CONNECTION =====
+    private final class PooledConnection {
+        final Connection physical;
+        final long createdAt = System.currentTimeMillis();
+        volatile long lastUsedAt = createdAt;
+        volatile long borrowedAt;
+        volatile Throwable borrowSite;
+        volatile boolean leakExempt;
+        private volatile Handle currentHandle;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection newHandle() {
+            Handle handle = new Handle(this);
+            currentHandle = handle;
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, handle);
+        }
+
+        void revoke() {
+            Handle handle = currentHandle;
+            if (handle != null) handle.closed.set(true);
+        }
+    }
+
+    // One handle per borrow, so closing a stale reference twice can never return the connection twice.
+    // Statements opened through the handle are closed with it, since several callers never close theirs.
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection owner;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private final List<Statement> openStatements = new ArrayList<>();
+
+        Handle(PooledConnection owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (closed.compareAndSet(false, true)) {
+                        closeStatements();
+                        giveBack(owner);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed.get() || owner.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + owner.physical;
+                default:
+                    break;
+            }
+            if (closed.get()) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+            try {
+                Object result = method.invoke(owner.physical, args);
+                if (result instanceof Statement statement) {
+                    synchronized (openStatements) {
+                        openStatements.add(statement);
+                    }
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void closeStatements() {
+            synchronized (openStatements) {
+                for (Statement statement : openStatements) {
+                    try {
+                        statement.close();
+                    } catch (SQLException ignored) {
+                        // already closed or connection broken
+                    }
+                }
+                openStatements.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package app;
+
+import javafx.application.Platform;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// Runs JDBC work on virtual threads so the JavaFX application thread never blocks on the database.
+// Results come back as CompletableFutures; Lane.run(...) also hands them to the FX thread via Platform.runLater.
+// Lane.runSections(...) runs a report whose independent sections each get their own virtual thread and pooled
+// connection; the first failing section cancels the rest.
+public final class DataExecutor {
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("db-worker-", 0).factory());
+
+    private DataExecutor() {}
+
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    // Forks its sections through the Sections handle, then joins them into one result
+    @FunctionalInterface
+    public interface SectionWork<T> {
+        T run(Sections sections) throws SQLException;
+    }
+
+    private interface Cancellable {
+        void cancel();
+    }
+
+    // ===== UNSCOPED SUBMIT =====
+    // For writes and other work that must finish even if the user navigates away.
+    public static <T> CompletableFuture<T> submit(SqlWork<T> work) {
+        return new Query<>(work).start();
+    }
+
+    // Runs the callbacks on the FX thread once the future completes. Cancelled work is dropped silently.
+    public static <T> void onFxThread(CompletableFuture<T> future, Consumer<? super T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            Throwable cause = unwrap(error);
+            if (cause instanceof CancellationException) return;
+            if (cause != null) onError.accept(cause);
+            else onSuccess.accept(result);
+        }));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    // ===== LANE =====
+    // One lane per screen. Starting a query cancels the one still in flight (Statement.cancel on the server),
+    // and results from a superseded query are never delivered.
+    public static final class Lane {
+        private final AtomicReference<Cancellable> current = new AtomicReference<>();
+
+        public <T> CompletableFuture<T> run(SqlWork<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onError) {
+            Query<T> query = new Query<>(work);
+            return deliver(query, query.start(), onSuccess, onError);
+        }
+
+        // Like run, but the work forks sections that run concurrently; superseding or leaving cancels all of them
+        public <T> CompletableFuture<T> runSections(SectionWork<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onError) {
+            Report<T> report = new Report<>(work);
+            return deliver(report, report.start(), onSuccess, onError);
+        }
+
+        private <T> CompletableFuture<T> deliver(Cancellable task, CompletableFuture<T> future,
+                                                 Consumer<? super T> onSuccess, Consumer<Throwable> onError) {
+            Cancellable previous = current.getAndSet(task);
+            if (previous != null) previous.cancel();
+
+            onFxThread(future, result -> {
+                if (current.get() == task) onSuccess.accept(result);
+            }, error -> {
+                if (current.get() == task) onError.accept(error);
+            });
+            return future;
+        }
+
+        // Called when the screen is left
+        public void cancel() {
+            Cancellable previous = current.getAndSet(null);
+            if (previous != null) previous.cancel();
+        }
+    }
+
+    // ===== SECTIONS =====
+    // Handle for forking report sections. Each fork is a Query of its own (virtual thread, pooled connection,
+    // server-side cancel). The first section to fail cancels every other one, and get() on any section then
+    // rethrows that first failure, so a report either assembles from all its sections or fails as a whole.
+    public static final class Sections {
+        private final List<Query<?>> forked = new ArrayList<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean cancelled = false;
+
+        private Sections() {}
+
+        public <T> Section<T> fork(SqlWork<T> work) {
+            Query<T> query = new Query<>(work);
+            synchronized (forked) {
+                if (cancelled) query.cancel();
+                forked.add(query);
+            }
+            CompletableFuture<T> future = query.start();
+            future.whenComplete((result, error) -> {
+                Throwable cause = unwrap(error);
+                if (cause != null && !(cause instanceof CancellationException) && failure.compareAndSet(null, cause)) {
+                    cancel();
+                }
+            });
+            return new Section<>(this, future);
+        }
+
+        void cancel() {
+            List<Query<?>> running;
+            synchronized (forked) {
+                cancelled = true;
+                running = new ArrayList<>(forked);
+            }
+            for (Query<?> query : running) {
+                query.cancel();
+            }
+        }
+
+        Throwable failure() {
+            return failure.get();
+        }
+    }
+
+    public static final class Section<T> {
+        private final Sections owner;
+        private final CompletableFuture<T> future;
+
+        private Section(Sections owner, CompletableFuture<T> future) {
+            this.owner = owner;
+            this.future = future;
+        }
+
+        // Blocks the (virtual) report thread until this section is done
+        public T get() throws SQLException {
+            try {
+                return future.join();
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = owner.failure() != null ? owner.failure() : unwrap(e);
+                if (cause instanceof SQLException sql) throw sql;
+                if (cause instanceof RuntimeException runtime) throw runtime;
+                if (cause instanceof Error error) throw error;
+                throw new SQLException(cause);
+            }
+        }
+    }
+
+    // Runs the SectionWork itself on a virtual thread; it holds no connection while it waits on its sections
+    private static final class Report<T> implements Cancellable {
+        private final SectionWork<T> work;
+        private final Sections sections = new Sections();
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private volatile boolean cancelled = false;
+
+        Report(SectionWork<T> work) {
+            this.work = work;
+        }
+
+        CompletableFuture<T> start() {
+            EXECUTOR.execute(this::execute);
+            return future;
+        }
+
+        private void execute() {
+            if (cancelled) return;
+            try {
+                future.complete(work.run(sections));
+            } catch (Throwable t) {
+                sections.cancel();
+                future.completeExceptionally(cancelled ? new CancellationException("Superseded report") : t);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            sections.cancel();
+            future.cancel(false);
+        }
+    }
+
+    // ===== QUERY =====
+    private static final class Query<T> implements Cancellable {
+        private final SqlWork<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final List<Statement> statements = new ArrayList<>();
+        private volatile boolean cancelled = false;
+
+        Query(SqlWork<T> work) {
+            this.work = work;
+        }
+
+        CompletableFuture<T> start() {
+            EXECUTOR.execute(this::execute);
+            return future;
+        }
+
+        private void execute() {
+            if (cancelled) return;
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                if (conn == null) throw new SQLException("Could not connect to database.");
+                future.complete(work.run(track(conn)));
+            } catch (Throwable t) {
+                future.completeExceptionally(cancelled ? new CancellationException("Superseded query") : t);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            future.cancel(false);
+            synchronized (statements) {
+                for (Statement statement : statements) {
+                    try {
+                        statement.cancel();
+                    } catch (SQLException ignored) {
+                        // statement already finished
+                    }
+                }
+            }
+        }
+
+        // Wraps the connection so every statement it creates can be cancelled server-side.
+        private Connection track(Connection conn) {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, new Tracker(conn));
+        }
+
+        private final class Tracker implements InvocationHandler {
+            private final Connection pooled;
+
+            Tracker(Connection pooled) {
+                this.pooled = pooled;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                if (cancelled) throw new SQLException("Query was cancelled.");
+                try {
+                    Object result = method.invoke(pooled, args);
+                    if (result instanceof Statement statement) {
+                        synchronized (statements) {
+                            statements.add(statement);
+                        }
+                    }
+                    return result;
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+    }
+
+    // The pool's connection behind a connection handed to SqlWork, for DatabaseConnector.markLongRunning
+    static Connection pooled(Connection conn) {
+        if (Proxy.isProxyClass(conn.getClass()) && Proxy.getInvocationHandler(conn) instanceof Query<?>.Tracker tracker) {
+            return tracker.pooled;
+        }
+        return conn;
+    }
+}
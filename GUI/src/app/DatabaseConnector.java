@@ -1,7 +1,6 @@
 package app;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DatabaseConnector {
@@ -13,7 +12,11 @@ public class DatabaseConnector {
     private static String DB_USER = "";
     private static String DB_PASSWORD= ""; // <— fill this in
 
-    private static Connection connection = null;
+    private static int poolMinSize = ConnectionPool.DEFAULT_MIN_SIZE;
+    private static int poolMaxSize = ConnectionPool.DEFAULT_MAX_SIZE;
+    private static long leakThresholdMs = ConnectionPool.DEFAULT_LEAK_THRESHOLD_MS;
+    private static boolean traceLeaks = Boolean.getBoolean("pos.db.traceLeaks");
+    private static volatile ConnectionPool pool = null;
 
     public static void setDbUrl(String url) {
         DB_URL = url;
@@ -27,14 +30,29 @@ public class DatabaseConnector {
         DB_PASSWORD = password;
     }
 
+    // Must be called before the first getConnection()
+    public static void setPoolSize(int minSize, int maxSize) {
+        poolMinSize = minSize;
+        poolMaxSize = maxSize;
+    }
+
+    // Must be called before the first getConnection(). 0 turns leak reclaiming off (batch tools).
+    public static void setLeakThreshold(long thresholdMs) {
+        leakThresholdMs = thresholdMs;
+    }
+
+    // Keeps the housekeeper from reclaiming this connection for the rest of the current borrow.
+    // Accepts the connection DataExecutor hands to its work as well as one straight from getConnection().
+    public static void markLongRunning(Connection conn) {
+        ConnectionPool current = pool;
+        if (current != null && conn != null) current.exemptFromLeakCheck(DataExecutor.pooled(conn));
+    }
+
     
+    // Borrows a connection from the pool. Closing it returns it to the pool.
     public static Connection getConnection() {
         try {
-            // Load PostgreSQL JDBC driver explicitly
-            Class.forName("org.postgresql.Driver");
-            Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            System.out.println(" Connected to TAMU Postgres database successfully!");
-            return conn;
+            return getPool().borrow();
 
         } catch (ClassNotFoundException e) {
             System.err.println(" PostgreSQL JDBC driver not found.");
@@ -46,5 +64,39 @@ public class DatabaseConnector {
             return null;
         }
     }
-}
 
+    public static ConnectionPool.PoolStats getPoolStats() {
+        ConnectionPool current = pool;
+        return current == null ? null : current.getStats();
+    }
+
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private static ConnectionPool getPool() throws ClassNotFoundException, SQLException {
+        ConnectionPool current = pool;
+        if (current != null) return current;
+
+        synchronized (DatabaseConnector.class) {
+            if (pool == null) {
+                // Load PostgreSQL JDBC driver explicitly
+                Class.forName("org.postgresql.Driver");
+                ConnectionPool created = new ConnectionPool(DB_URL, DB_USER, DB_PASSWORD, poolMinSize, poolMaxSize,
+                        leakThresholdMs, traceLeaks);
+                try {
+                    created.warmUp();
+                } catch (SQLException e) {
+                    created.shutdown();
+                    throw e;
+                }
+                System.out.println(" Connected to TAMU Postgres database successfully!");
+                pool = created;
+            }
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package app;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.VBox;
+
+import java.util.function.Consumer;
+
+// Drink tile on the cashier screen. Built once per menu item and reused across category switches;
+// update() refreshes it in place when the catalog reloads. Styling lives in cashier.css.
+public final class DrinkCard extends VBox {
+
+    private final ImageView imageView = new ImageView();
+    private final Label nameLabel = new Label();
+    private final Label priceLabel = new Label();
+    private final Button selectButton = new Button("Select");
+    private MenuCatalog.MenuItem item;
+
+    public DrinkCard(MenuCatalog.MenuItem item, Consumer<MenuCatalog.MenuItem> onSelect) {
+        super(10);
+        getStyleClass().add("drink-card");
+        setPrefWidth(160);
+        setAlignment(Pos.CENTER);
+
+        imageView.setFitWidth(ImageCache.CARD_IMAGE_SIZE);
+        imageView.setFitHeight(ImageCache.CARD_IMAGE_SIZE);
+        imageView.setPreserveRatio(true);
+        nameLabel.getStyleClass().add("drink-name");
+        priceLabel.getStyleClass().add("drink-price");
+        selectButton.getStyleClass().add("drink-select");
+        selectButton.setOnAction(e -> onSelect.accept(this.item));
+
+        getChildren().addAll(imageView, nameLabel, priceLabel, selectButton);
+        update(item);
+    }
+
+    // Only touches the nodes whose value actually changed
+    public void update(MenuCatalog.MenuItem updated) {
+        MenuCatalog.MenuItem previous = item;
+        item = updated;
+        if (previous == null || previous.imageID() != updated.imageID()) {
+            imageView.setImage(ImageCache.get(updated.imageID()));
+        }
+        if (previous == null || !previous.name().equals(updated.name())) {
+            nameLabel.setText(updated.name());
+        }
+        if (previous == null || previous.price() != updated.price()) {
+            priceLabel.setText(String.format("$%.2f", updated.price()));
+        }
+    }
+
+    public MenuCatalog.MenuItem getItem() {
+        return item;
+    }
+}
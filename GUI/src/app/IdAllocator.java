@@ -0,0 +1,96 @@
+package app;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Hi/lo primary-key allocation backed by PostgreSQL sequences.
+// Each nextval reserves a block of BLOCK_SIZE ids for this terminal (value v owns [v * BLOCK_SIZE, (v + 1) * BLOCK_SIZE)),
+// so only one order in BLOCK_SIZE pays a round trip and two terminals can never hand out the same id.
+// Ids left in a block when the app exits are simply skipped; nothing relies on ids being gapless.
+public final class IdAllocator {
+
+    public static final int BLOCK_SIZE = 50;
+
+    public static final IdAllocator ORDER = new IdAllocator("order_id_hilo_seq", "ordertest", "orderID");
+    public static final IdAllocator ORDER_ITEM = new IdAllocator("order_item_id_hilo_seq", "orderItem", "orderItemID");
+    public static final IdAllocator MODIFICATION = new IdAllocator("modification_id_hilo_seq", "modification", "modificationID");
+
+    private final String sequence;
+    private final String table;
+    private final String idColumn;
+
+    private long next = 0;
+    private long limit = 0;
+    private boolean synced = false;
+
+    private IdAllocator(String sequence, String table, String idColumn) {
+        this.sequence = sequence;
+        this.table = table;
+        this.idColumn = idColumn;
+    }
+
+    // ===== ALLOCATE =====
+    // Uses the caller's connection only when the current block is used up.
+    public synchronized int nextId(Connection conn) throws SQLException {
+        if (next >= limit) {
+            long hi = synced ? nextHi(conn) : syncAndReserve(conn);
+            next = hi * BLOCK_SIZE;
+            limit = next + BLOCK_SIZE;
+        }
+        return Math.toIntExact(next++);
+    }
+
+    private long nextHi(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT nextval(?::regclass)")) {
+            stmt.setString(1, sequence);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    // First block of the session: creates the sequence if the schema script has not, and moves it past
+    // rows written by the old MAX(id)+1 path or loaded from CSV. Serialized across terminals by an advisory lock.
+    private long syncAndReserve(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            try (PreparedStatement lock = conn.prepareStatement("SELECT pg_advisory_xact_lock(hashtext(?))")) {
+                lock.setString(1, sequence);
+                lock.execute();
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence);
+            }
+
+            long hi = nextHi(conn);
+            long maxId;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table)) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            if (hi * BLOCK_SIZE <= maxId) {
+                hi = maxId / BLOCK_SIZE + 1;
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT setval(?::regclass, ?)")) {
+                    stmt.setString(1, sequence);
+                    stmt.setLong(2, hi);
+                    stmt.execute();
+                }
+            }
+
+            conn.commit();
+            synced = true;
+            return hi;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+}
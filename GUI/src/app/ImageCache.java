@@ -0,0 +1,81 @@
+package app;
+
+import javafx.scene.image.Image;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Bounded LRU cache of drink-card images.
+// Images are decoded straight to the 100x100 card size on JavaFX's background loader, so the FX thread
+// never decodes a full-size PNG, and every missing image shares one default.png instance.
+public final class ImageCache {
+
+    public static final double CARD_IMAGE_SIZE = 100;
+    private static final int MAX_ENTRIES = 128;
+
+    private static final Map<Integer, Image> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Image> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private static Image defaultImage = null;
+    private static boolean defaultMissingReported = false;
+
+    private ImageCache() {}
+
+    private static String basePath() {
+        return System.getProperty("user.dir") + "/GUI/src/images/";
+    }
+
+    // ===== LOOKUP =====
+    // Returns the cached image, starting a background decode on first use. May return null if even default.png is missing.
+    public static synchronized Image get(int imageID) {
+        Image image = cache.get(imageID);
+        if (image == null) {
+            image = load(imageID);
+            if (image != null) cache.put(imageID, image);
+        }
+        return image;
+    }
+
+    // Starts decoding every image the menu can show, so the first category click finds them ready.
+    public static void prewarm(List<MenuCatalog.MenuItem> items) {
+        for (MenuCatalog.MenuItem item : items) {
+            get(item.imageID());
+        }
+    }
+
+    private static Image load(int imageID) {
+        File imageFile = new File(basePath() + imageID + ".png");
+        if (imageFile.exists()) {
+            return decode(imageFile);
+        }
+
+        Image fallback = getDefaultImage();
+        if (fallback != null) {
+            System.out.println("Missing image for ID " + imageID + ", using default.");
+        }
+        return fallback;
+    }
+
+    private static Image getDefaultImage() {
+        if (defaultImage == null) {
+            File defaultFile = new File(basePath() + "default.png");
+            if (defaultFile.exists()) {
+                defaultImage = decode(defaultFile);
+            } else if (!defaultMissingReported) {
+                defaultMissingReported = true;
+                System.err.println("Default image missing! Please ensure default.png exists.");
+            }
+        }
+        return defaultImage;
+    }
+
+    private static Image decode(File file) {
+        return new Image(file.toURI().toString(), CARD_IMAGE_SIZE, CARD_IMAGE_SIZE, true, true, true);
+    }
+}
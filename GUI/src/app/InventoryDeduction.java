@@ -0,0 +1,78 @@
+package app;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+// Turns orders into per-ingredient stock deltas and applies them with a single UPDATE ... FROM (VALUES ...).
+// Each drink uses its menuInfo recipe; an added extra uses its modification quantity on top, and a
+// removed ingredient gives back what the recipe would have used. Called inside OrderWriter's transaction.
+public final class InventoryDeduction {
+
+    private InventoryDeduction() {}
+
+    public static void apply(Connection conn, List<Order> orders) throws SQLException {
+        double[] used = expand(RecipeBook.get(conn), orders);
+
+        int rows = 0;
+        for (double amount : used) {
+            if (amount != 0.0) rows++;
+        }
+        if (rows == 0) return;
+
+        StringBuilder sql = new StringBuilder("""
+            UPDATE inventory AS inv
+            SET quantityAvailable = inv.quantityAvailable - d.used
+            FROM (VALUES\s""");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?::int, ?::numeric)");
+        }
+        sql.append(") AS d(inventoryID, used)\nWHERE inv.inventoryID = d.inventoryID");
+
+        // Ascending inventoryID, so concurrent orders lock shared rows in the same order
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int p = 1;
+            for (int inventoryID = 0; inventoryID < used.length; inventoryID++) {
+                if (used[inventoryID] == 0.0) continue;
+                stmt.setInt(p++, inventoryID);
+                // Recipe amounts are decimals in the table; round off the double sum before it reaches numeric
+                stmt.setBigDecimal(p++, BigDecimal.valueOf(used[inventoryID]).setScale(4, RoundingMode.HALF_UP));
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    // Amount used per inventoryID (the array index) across all the orders
+    static double[] expand(RecipeBook recipes, List<Order> orders) {
+        int maxID = recipes.getMaxInventoryID();
+        for (Order order : orders) {
+            for (Order.Line line : order.lines()) {
+                for (Order.Modification mod : line.modifications()) {
+                    maxID = Math.max(maxID, mod.inventoryID());
+                }
+            }
+        }
+
+        double[] used = new double[maxID + 1];
+        for (Order order : orders) {
+            for (Order.Line line : order.lines()) {
+                int menuID = line.menuID();
+                int quantity = line.quantity();
+                for (int i = recipes.start(menuID), end = recipes.end(menuID); i < end; i++) {
+                    used[recipes.inventoryID(i)] += recipes.quantity(i) * quantity;
+                }
+                for (Order.Modification mod : line.modifications()) {
+                    if (mod.quantity() < 0) {
+                        used[mod.inventoryID()] -= recipes.quantityOf(menuID, mod.inventoryID()) * quantity;
+                    } else {
+                        used[mod.inventoryID()] += mod.quantity() * quantity;
+                    }
+                }
+            }
+        }
+        return used;
+    }
+}
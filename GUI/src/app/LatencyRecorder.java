@@ -0,0 +1,52 @@
+package app;
+
+import java.util.Arrays;
+
+// Keeps the most recent latency samples (in microseconds) in a fixed ring and reports percentiles over them.
+// Recording is a synchronized array store, cheap enough to sit on the order path.
+public final class LatencyRecorder {
+
+    public record Percentiles(long count, long p50Us, long p95Us, long p99Us, long p999Us, long maxUs) {
+
+        @Override
+        public String toString() {
+            return String.format("n=%d p50=%.2fms p95=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                    count, p50Us / 1000.0, p95Us / 1000.0, p99Us / 1000.0, p999Us / 1000.0, maxUs / 1000.0);
+        }
+    }
+
+    private final long[] samples;
+    private long count = 0;
+
+    public LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long micros) {
+        samples[(int) (count % samples.length)] = micros;
+        count++;
+    }
+
+    public synchronized void reset() {
+        count = 0;
+    }
+
+    public Percentiles snapshot() {
+        long[] sorted;
+        long total;
+        synchronized (this) {
+            total = count;
+            sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+        }
+        Arrays.sort(sorted);
+        return new Percentiles(total, at(sorted, 0.50), at(sorted, 0.95), at(sorted, 0.99), at(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+    }
+
+    // Nearest-rank percentile
+    private static long at(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
@@ -0,0 +1,201 @@
+package app;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Headless load test for the order path. Simulates N registers on virtual threads, each submitting orders through
+// OrderPipeline exactly as CashierController does, at a fixed total rate. Orders follow Database/Scripts/SalesData.py:
+// items per order ~ N(1.5, 0.25) on a normal day or N(2, 0.25) on a peak day, quantity ~ ceil(N(1, 0.07)),
+// size -1..1 at +$0.50 per step, and a 1-in-4 chance each of extra ice and extra boba.
+// Latency is measured from each order's scheduled send time, so a stalled writer shows up in the percentiles.
+//
+// java -cp "GUI/bin:GUI/lib/postgresql-42.7.3.jar" app.LoadGenerator --url jdbc:postgresql://localhost:5432/postgres
+//      --user postgres --password secret --registers 8 --rate 200 --duration 60 --day peak
+public final class LoadGenerator {
+
+    private static final double[] NORMAL_DAY = { 1.5, 0.25 };
+    private static final double[] PEAK_DAY = { 2.0, 0.25 };
+    private static final int ICE_ID = 27;
+    private static final int BOBA_ID = 23;
+    private static final long ICE_CENTS = 25;
+    private static final long BOBA_CENTS = 100;
+    private static final long SIZE_STEP_CENTS = 50;
+
+    private final int registers;
+    private final double ratePerSec;
+    private final long durationMs;
+    private final long warmupMs;
+    private final double[] itemsPerOrder;
+    private final int employees;
+    private final long seed;
+
+    private final LatencyRecorder latency = new LatencyRecorder(1 << 20);
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder acked = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private List<MenuCatalog.MenuItem> menu;
+
+    private LoadGenerator(int registers, double ratePerSec, long durationMs, long warmupMs, boolean peakDay, int employees, long seed) {
+        this.registers = registers;
+        this.ratePerSec = ratePerSec;
+        this.durationMs = durationMs;
+        this.warmupMs = warmupMs;
+        this.itemsPerOrder = peakDay ? PEAK_DAY : NORMAL_DAY;
+        this.employees = employees;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            opts.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        DatabaseConnector.setDbUrl(opts.getOrDefault("url", "jdbc:postgresql://localhost:5432/postgres"));
+        DatabaseConnector.setDbUser(opts.getOrDefault("user", "postgres"));
+        DatabaseConnector.setDbPassword(opts.getOrDefault("password", ""));
+
+        int registers = Integer.parseInt(opts.getOrDefault("registers", "4"));
+        DatabaseConnector.setPoolSize(2, Math.max(ConnectionPool.DEFAULT_MAX_SIZE, registers));
+
+        LoadGenerator generator = new LoadGenerator(
+                registers,
+                Double.parseDouble(opts.getOrDefault("rate", "50")),
+                Long.parseLong(opts.getOrDefault("duration", "30")) * 1000,
+                Long.parseLong(opts.getOrDefault("warmup", "5")) * 1000,
+                opts.getOrDefault("day", "normal").equalsIgnoreCase("peak"),
+                Integer.parseInt(opts.getOrDefault("employees", "3")),
+                Long.parseLong(opts.getOrDefault("seed", String.valueOf(System.nanoTime()))));
+        try {
+            generator.run();
+        } finally {
+            DatabaseConnector.shutdown();
+        }
+    }
+
+    // ===== RUN =====
+    private void run() throws Exception {
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            if (conn == null) throw new IllegalStateException("Could not connect to database.");
+            SchemaMigrator.migrate(conn);
+            MenuCatalog.start(conn);
+        }
+        menu = new ArrayList<>();
+        for (MenuCatalog.MenuItem item : MenuCatalog.getAllItems()) {
+            if (AvailabilityScheduler.isAvailable(item.menuID())) menu.add(item);
+        }
+        if (menu.isEmpty()) throw new IllegalStateException("No menu items are available today.");
+
+        System.out.printf("Load: %d registers, %.1f orders/s, %d s (+%d s warm-up), items/order ~ N(%.1f, %.2f)%n",
+                registers, ratePerSec, durationMs / 1000, warmupMs / 1000, itemsPerOrder[0], itemsPerOrder[1]);
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.MILLISECONDS.toNanos(warmupMs);
+        long end = measureFrom + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        try (ExecutorService registerThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int r = 0; r < registers; r++) {
+                int register = r;
+                registerThreads.submit(() -> runRegister(register, start, measureFrom, end));
+            }
+        }
+        double seconds = (System.nanoTime() - measureFrom) / 1e9;
+        report(seconds);
+    }
+
+    // Open loop: each register sends on its own fixed schedule whether or not the last order has been acknowledged
+    private void runRegister(int register, long start, long measureFrom, long end) {
+        Random random = new Random(seed + register);
+        long intervalNanos = (long) (1e9 * registers / ratePerSec);
+        long next = start + intervalNanos * register / registers;
+        List<CompletableFuture<Integer>> inFlight = new ArrayList<>();
+
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            long scheduledAt = next;
+            boolean measured = scheduledAt >= measureFrom;
+            if (measured) submitted.increment();
+            inFlight.add(OrderPipeline.submit(randomOrder(register, random)).whenComplete((orderID, error) -> {
+                if (!measured) return;
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    errors.computeIfAbsent(cause.getClass().getSimpleName(), k -> new LongAdder()).increment();
+                } else {
+                    acked.increment();
+                    latency.record((System.nanoTime() - scheduledAt) / 1000);
+                }
+            }));
+            inFlight.removeIf(CompletableFuture::isDone);
+            next += intervalNanos;
+        }
+        for (CompletableFuture<Integer> pending : inFlight) {
+            try {
+                pending.join();
+            } catch (Exception ignored) {
+                // counted in whenComplete
+            }
+        }
+    }
+
+    // ===== ORDER SHAPE (SalesData.py) =====
+    private Order randomOrder(int register, Random random) {
+        int itemCount;
+        do {
+            itemCount = (int) Math.abs(itemsPerOrder[0] + random.nextGaussian() * itemsPerOrder[1]);
+        } while (itemCount < 1);
+
+        List<Order.Line> lines = new ArrayList<>(itemCount);
+        long totalCents = 0;
+        for (int i = 0; i < itemCount; i++) {
+            MenuCatalog.MenuItem item = menu.get(random.nextInt(menu.size()));
+            int size = random.nextInt(3) - 1;
+            int quantity = Math.max(1, (int) Math.ceil(1 + random.nextGaussian() * 0.07));
+
+            List<Order.Modification> modifications = new ArrayList<>(2);
+            long unitCents = PricingEngine.toCents(item.price()) + SIZE_STEP_CENTS * size;
+            if (random.nextInt(4) == 0) {
+                modifications.add(new Order.Modification(ICE_ID, "Ice", 1, ICE_CENTS));
+                unitCents += ICE_CENTS;
+            }
+            if (random.nextInt(4) == 0) {
+                modifications.add(new Order.Modification(BOBA_ID, "Tapioca pearls", 1, BOBA_CENTS));
+                unitCents += BOBA_CENTS;
+            }
+            lines.add(new Order.Line(item.menuID(), item.name(), unitCents, quantity, size, List.copyOf(modifications)));
+            totalCents += unitCents * quantity;
+        }
+        return new Order(register % employees + 1, "College Station", Timestamp.valueOf(LocalDateTime.now()), totalCents, lines);
+    }
+
+    // ===== REPORT =====
+    private void report(double seconds) {
+        LatencyRecorder.Percentiles p = latency.snapshot();
+        long errorCount = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        System.out.printf("Submitted %d, committed %d, errors %d in %.1f s -> %.1f orders/s%n",
+                submitted.sum(), acked.sum(), errorCount, seconds, acked.sum() / seconds);
+        System.out.printf("Submit latency: p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                p.p50Us() / 1000.0, p.p99Us() / 1000.0, p.p999Us() / 1000.0, p.maxUs() / 1000.0);
+        errors.forEach((type, count) -> System.out.println("  " + type + ": " + count.sum()));
+        System.out.println("Pipeline: " + OrderPipeline.getStats());
+    }
+}
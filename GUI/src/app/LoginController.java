@@ -6,6 +6,8 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class LoginController {
 
@@ -13,44 +15,73 @@ public class LoginController {
     @FXML private PasswordField cashierPasswordField;
     @FXML private Label statusLabel;
 
-    private final DatabaseConnector db = new DatabaseConnector();
-
     @FXML
     private void handleManagerLogin() {
         String password = managerPasswordField.getText();
-        if (authenticate("Manager", password)) {
-            loadView("ManagerView.fxml", "Manager Dashboard");
-        } else {
-            statusLabel.setText("Invalid manager password.");
-        }
+        login("Manager", password, "ManagerView.fxml", "Manager Dashboard", "Invalid manager password.");
     }
 
     @FXML
     private void handleCashierLogin() {
         String password = cashierPasswordField.getText();
-        if (authenticate("Cashier", password)) {
-            loadView("CashierView.fxml", "Cashier Dashboard");
-        } else {
-            statusLabel.setText("Invalid cashier password.");
-        }
+        login("Cashier", password, "CashierView.fxml", "Cashier Dashboard", "Invalid cashier password.");
     }
 
-    private boolean authenticate(String role, String password) {
-        String sql = "SELECT employeePasscode FROM employee WHERE employeePosition = ?;";
-        try (Connection conn = db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, role);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                if (password.equals(rs.getString("employeePasscode"))) {
-                    return true;
+    // Passcodes are checked in memory by AuthService. Only the first login of the session waits on the
+    // database (to load the index), a cashier login preloads the menu on a data worker, and a manager login
+    // starts loading the order analytics columns in the background.
+    private void login(String role, String password, String fxml, String title, String failureMessage) {
+        if (!AuthService.isLoaded()) {
+            DataExecutor.onFxThread(AuthService.refreshAsync(),
+                    loaded -> login(role, password, fxml, title, failureMessage), this::showDatabaseError);
+            return;
+        }
+
+        AuthService.Result result = AuthService.verify(role, password);
+        switch (result.status()) {
+            case THROTTLED -> statusLabel.setText(String.format("Too many attempts. Try again in %d s.",
+                    (result.retryAfterMs() + 999) / 1000));
+            case INVALID -> statusLabel.setText(failureMessage);
+            case OK -> {
+                if (result.ambiguous()) {
+                    new Alert(Alert.AlertType.WARNING, "This passcode is shared by more than one " + role.toLowerCase()
+                            + ". You are signed in as employee " + result.employeeID()
+                            + "; ask a manager to give each employee their own passcode.").showAndWait();
+                }
+                if (role.equals("Cashier")) {
+                    DataExecutor.onFxThread(DataExecutor.submit(conn -> {
+                        loadMenuCatalog(conn);
+                        return true;
+                    }), loaded -> loadView(fxml, title), this::showDatabaseError);
+                } else {
+                    // Range reports fall back to SQL until the columns are in memory
+                    OrderAnalytics.loadAsync().exceptionally(e -> {
+                        System.err.println(" Could not load order analytics: " + e.getMessage());
+                        return false;
+                    });
+                    loadView(fxml, title);
                 }
             }
+        }
+    }
+
+    private void showDatabaseError(Throwable e) {
+        e.printStackTrace();
+        statusLabel.setText("Database error.");
+    }
+
+    // The cashier screen serves categories and card images from memory; a failure here only means the first click loads them
+    private static void loadMenuCatalog(Connection conn) {
+        try {
+            MenuCatalog.start(conn);
+            List<MenuCatalog.MenuItem> activeItems = new ArrayList<>();
+            for (MenuCatalog.MenuItem item : MenuCatalog.getAllItems()) {
+                if (AvailabilityScheduler.isAvailable(item.menuID())) activeItems.add(item);
+            }
+            ImageCache.prewarm(activeItems);
         } catch (SQLException e) {
-            e.printStackTrace();
-            statusLabel.setText("Database error.");
+            System.err.println(" Could not preload menu: " + e.getMessage());
         }
-        return false;
     }
 
     private void loadView(String fxml, String title) {
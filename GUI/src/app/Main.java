@@ -17,11 +17,18 @@ public class Main extends Application {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        System.out.println(" Order pipeline: " + OrderPipeline.getStats());
+        DatabaseConnector.shutdown();
+    }
+
     public static void main(String[] args) {
         String[] creds = LineReader.getCredentials();
         DatabaseConnector.setDbUrl(creds[0]);
         DatabaseConnector.setDbUser(creds[1]);
         DatabaseConnector.setDbPassword(creds[2]);
+        SchemaMigrator.migrateOnStartup();
 
         // creds[3] is date
         if (creds[3] != ""){
@@ -11,6 +11,11 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.collections.*;
 import java.sql.*;
 import java.time.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.CategoryAxis;
 import javafx.scene.chart.LineChart;
@@ -23,6 +28,9 @@ public class ManagerController {
     @FXML private AnchorPane mainDisplayPane;
     private static LocalDate currDate = LocalDate.now();
 
+    // Queries for whatever is shown in mainDisplayPane; switching screens cancels the one in flight
+    private final DataExecutor.Lane screenLane = new DataExecutor.Lane();
+
     // ===== SET DATABASE DATE =====
     // Format is YYYY-MM-DD
     public static void setCurrDate(String date){
@@ -56,37 +64,31 @@ public class ManagerController {
         Label header = new Label("Employees");
         header.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-padding: 10;");
 
-        final TableView<ObservableList<String>>[] tableRef = new TableView[1];
         String query = "SELECT employeeID AS \"ID\", employeeName AS \"Name\", employeePosition AS \"Position\" FROM employee";
 
-        try (Connection conn = DatabaseConnector.getConnection();
-            PreparedStatement stmt = conn.prepareStatement(query);
-            ResultSet rs = stmt.executeQuery()) {
-
-            tableRef[0] = buildTableFromResultSet(rs);
+        screenLane.run(conn -> queryTable(conn, query), data -> {
+            TableView<ObservableList<String>> table = buildTable(data);
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-            mainDisplayPane.getChildren().add(new Label("Error loading employees."));
-            return;
-        }
+            Button addBtn = new Button("Add Employee");
+            Button removeBtn = new Button("Remove Employee");
 
-        Button addBtn = new Button("Add Employee");
-        Button removeBtn = new Button("Remove Employee");
+            addBtn.setOnAction(e -> showAddEmployeeForm());
+            removeBtn.setOnAction(e -> removeSelectedEmployee(table));
 
-        addBtn.setOnAction(e -> showAddEmployeeForm());
-        removeBtn.setOnAction(e -> removeSelectedEmployee(tableRef[0]));
+            HBox buttons = new HBox(10, addBtn, removeBtn);
+            buttons.setStyle("-fx-padding: 10;");
 
-        HBox buttons = new HBox(10, addBtn, removeBtn);
-        buttons.setStyle("-fx-padding: 10;");
-
-        VBox layout = new VBox(10, header, tableRef[0], buttons);
-        AnchorPane.setTopAnchor(layout, 0.0);
-        AnchorPane.setBottomAnchor(layout, 0.0);
-        AnchorPane.setLeftAnchor(layout, 0.0);
-        AnchorPane.setRightAnchor(layout, 0.0);
+            VBox layout = new VBox(10, header, table, buttons);
+            AnchorPane.setTopAnchor(layout, 0.0);
+            AnchorPane.setBottomAnchor(layout, 0.0);
+            AnchorPane.setLeftAnchor(layout, 0.0);
+            AnchorPane.setRightAnchor(layout, 0.0);
 
-        mainDisplayPane.getChildren().add(layout);
+            mainDisplayPane.getChildren().add(layout);
+        }, error -> {
+            error.printStackTrace();
+            mainDisplayPane.getChildren().add(new Label("Error loading employees."));
+        });
     }
 
     @FXML private void handleRestockButton() {
@@ -97,11 +99,8 @@ public class ManagerController {
     private void loadTableFromQuery(String query, String title) {
         mainDisplayPane.getChildren().clear();
 
-        try (Connection conn = DatabaseConnector.getConnection();
-            PreparedStatement stmt = conn.prepareStatement(query);
-            ResultSet rs = stmt.executeQuery()) {
-
-            TableView<ObservableList<String>> table = buildTableFromResultSet(rs);
+        screenLane.run(conn -> queryTable(conn, query), data -> {
+            TableView<ObservableList<String>> table = buildTable(data);
             Label header = new Label(title);
             header.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-padding: 10;");
 
@@ -113,11 +112,11 @@ public class ManagerController {
             AnchorPane.setRightAnchor(layout, 0.0);
             mainDisplayPane.getChildren().add(layout);
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-            Label errorLabel = new Label("Error loading data: " + e.getMessage());
+        }, error -> {
+            error.printStackTrace();
+            Label errorLabel = new Label("Error loading data: " + error.getMessage());
             mainDisplayPane.getChildren().add(errorLabel);
-        }
+        });
     }
 
     // === RESTOCK TABLE (INTERACTIVE) ===
@@ -190,24 +189,23 @@ public class ManagerController {
         // add all columns
         table.getColumns().addAll(nameCol, qtyCol, minCol, statusCol, addCol, saveCol);
 
-        try (Connection conn = DatabaseConnector.getConnection();
-            PreparedStatement stmt = conn.prepareStatement(
-                "SELECT inventoryName, quantityAvailable, restockMin FROM inventory");
-            ResultSet rs = stmt.executeQuery()) {
+        table.setItems(data);
+        screenLane.run(conn -> {
+            List<InventoryItem> items = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT inventoryName, quantityAvailable, restockMin FROM inventory");
+                ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                data.add(new InventoryItem(
-                    rs.getString("inventoryName"),
-                    rs.getDouble("quantityAvailable"),
-                    rs.getInt("restockMin")
-                ));
+                while (rs.next()) {
+                    items.add(new InventoryItem(
+                        rs.getString("inventoryName"),
+                        rs.getDouble("quantityAvailable"),
+                        rs.getInt("restockMin")
+                    ));
+                }
             }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        table.setItems(data);
+            return items;
+        }, data::setAll, Throwable::printStackTrace);
 
         // ✨ Highlight rows that are at or below restock minimum
         table.setRowFactory(tv -> new TableRow<>() {
@@ -238,55 +236,77 @@ public class ManagerController {
 
     // === RESTOCK UPDATER ===
     private void updateInventory(String ingredient, int addAmount) {
-        try (Connection conn = DatabaseConnector.getConnection()) {
+        CompletableFuture<Integer> update = DataExecutor.submit(conn -> {
             String query = "UPDATE inventory SET quantityAvailable = quantityAvailable + ? WHERE inventoryName = ?";
             try (PreparedStatement stmt = conn.prepareStatement(query)) {
                 stmt.setInt(1, addAmount);
                 stmt.setString(2, ingredient);
-                int rows = stmt.executeUpdate();
-
-                if (rows > 0) {
-                    System.out.println("Restocked " + ingredient + " by " + addAmount);
-                    Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                    alert.setTitle("Restock Successful");
-                    alert.setHeaderText(null);
-                    alert.setContentText(ingredient + " restocked by " + addAmount + " units.");
-                    alert.showAndWait();
-                }
+                return stmt.executeUpdate();
+            }
+        });
+        DataExecutor.onFxThread(update, rows -> {
+            if (rows > 0) {
+                System.out.println("Restocked " + ingredient + " by " + addAmount);
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Restock Successful");
+                alert.setHeaderText(null);
+                alert.setContentText(ingredient + " restocked by " + addAmount + " units.");
+                alert.showAndWait();
             }
-        } catch (SQLException e) {
+        }, e -> {
             e.printStackTrace();
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setTitle("Database Error");
             alert.setHeaderText(null);
             alert.setContentText("Failed to update inventory: " + e.getMessage());
             alert.showAndWait();
+        });
+    }
+
+    // === HELPER: Read a generic table on a data worker ===
+    record TableData(List<String> columns, List<ObservableList<String>> rows) {}
+
+    private static TableData queryTable(Connection conn, String query) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(query);
+            ResultSet rs = stmt.executeQuery()) {
+            return readTableData(rs);
         }
     }
 
-    // === HELPER: Build generic table from ResultSet ===
-    private TableView<ObservableList<String>> buildTableFromResultSet(ResultSet rs) throws SQLException {
-        TableView<ObservableList<String>> table = new TableView<>();
+    static TableData readTableData(ResultSet rs) throws SQLException {
         ResultSetMetaData meta = rs.getMetaData();
         int columnCount = meta.getColumnCount();
 
+        List<String> columns = new ArrayList<>(columnCount);
         for (int i = 1; i <= columnCount; i++) {
-            final int colIndex = i - 1;
-            TableColumn<ObservableList<String>, String> col =
-                    new TableColumn<>(meta.getColumnLabel(i));
-            col.setCellValueFactory(param ->
-                    new javafx.beans.property.SimpleStringProperty(param.getValue().get(colIndex)));
-            table.getColumns().add(col);
+            columns.add(meta.getColumnLabel(i));
         }
 
+        List<ObservableList<String>> rows = new ArrayList<>();
         while (rs.next()) {
             ObservableList<String> row = FXCollections.observableArrayList();
             for (int i = 1; i <= columnCount; i++) {
                 row.add(rs.getString(i));
             }
-            table.getItems().add(row);
+            rows.add(row);
         }
+        return new TableData(columns, rows);
+    }
 
+    // === HELPER: Build generic table (FX thread) ===
+    private TableView<ObservableList<String>> buildTable(TableData data) {
+        TableView<ObservableList<String>> table = new TableView<>();
+
+        for (int i = 0; i < data.columns().size(); i++) {
+            final int colIndex = i;
+            TableColumn<ObservableList<String>, String> col =
+                    new TableColumn<>(data.columns().get(i));
+            col.setCellValueFactory(param ->
+                    new javafx.beans.property.SimpleStringProperty(param.getValue().get(colIndex)));
+            table.getColumns().add(col);
+        }
+
+        table.getItems().setAll(data.rows());
         return table;
     }
 
@@ -366,21 +386,25 @@ public class ManagerController {
         dialog.showAndWait();
     }
 
+    // A passcode identifies the employee at login, so it must be unique within the position
     private void addEmployeeToDatabase(int id, String name, String position, String passcode) {
-        try (Connection conn = DatabaseConnector.getConnection()) {
-            String sql = "INSERT INTO employee (employeeID, employeeName, employeePosition, employeePasscode) VALUES (?, ?, ?, ?)";
+        runUpdate(conn -> {
+            String sql = """
+                INSERT INTO employee (employeeID, employeeName, employeePosition, employeePasscode)
+                SELECT ?, ?, ?, ?
+                WHERE NOT EXISTS (SELECT 1 FROM employee WHERE employeePosition = ? AND employeePasscode = ?)
+            """;
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setInt(1, id);
             stmt.setString(2, name);
             stmt.setString(3, position);
             stmt.setString(4, passcode);
-            stmt.executeUpdate();
-
-            new Alert(Alert.AlertType.INFORMATION, "Employee added successfully!").showAndWait();
-            handleEmployeeButton();
-        } catch (SQLException e) {
-            new Alert(Alert.AlertType.ERROR, "Error adding employee: " + e.getMessage()).showAndWait();
-        }
+            stmt.setString(5, position);
+            stmt.setString(6, passcode);
+            int rows = stmt.executeUpdate();
+            if (rows == 0) throw new SQLException("another " + position + " already uses that passcode.");
+            return rows;
+        }, "Employee added successfully!", "Error adding employee: ", this::onEmployeesChanged);
     }
 
     private void removeSelectedEmployee(TableView<ObservableList<String>> table) {
@@ -397,17 +421,12 @@ public class ManagerController {
 
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.YES) {
-                try (Connection conn = DatabaseConnector.getConnection()) {
+                runUpdate(conn -> {
                     String sql = "DELETE FROM employee WHERE employeeID = ?";
                     PreparedStatement stmt = conn.prepareStatement(sql);
                     stmt.setInt(1, employeeID);
-                    stmt.executeUpdate();
-
-                    new Alert(Alert.AlertType.INFORMATION, "Employee removed successfully!").showAndWait();
-                    handleEmployeeButton();
-                } catch (SQLException e) {
-                    new Alert(Alert.AlertType.ERROR, "Error removing employee: " + e.getMessage()).showAndWait();
-                }
+                    return stmt.executeUpdate();
+                }, "Employee removed successfully!", "Error removing employee: ", this::onEmployeesChanged);
             }
         });
     }
@@ -420,37 +439,33 @@ public class ManagerController {
         Label header = new Label("Menu Items");
         header.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-padding: 10;");
 
-        final TableView<ObservableList<String>>[] tableRef = new TableView[1];
         String query = "SELECT menuID AS \"ID\", menuName AS \"Name\", category AS \"Category\", price AS \"Price ($)\", menuDescription AS \"Description\" FROM menu ORDER BY menuID";
 
-        try (Connection conn = DatabaseConnector.getConnection();
-            PreparedStatement stmt = conn.prepareStatement(query);
-            ResultSet rs = stmt.executeQuery()) {
-            tableRef[0] = buildTableFromResultSet(rs);
-        } catch (SQLException e) {
-            e.printStackTrace();
-            mainDisplayPane.getChildren().add(new Label("Error loading menu."));
-            return;
-        }
+        screenLane.run(conn -> queryTable(conn, query), data -> {
+            TableView<ObservableList<String>> table = buildTable(data);
 
-        Button addBtn = new Button("Add Item");
-        Button editBtn = new Button("Edit Selected");
-        Button removeBtn = new Button("Remove Selected");
+            Button addBtn = new Button("Add Item");
+            Button editBtn = new Button("Edit Selected");
+            Button removeBtn = new Button("Remove Selected");
 
-        addBtn.setOnAction(e -> showAddMenuForm());
-        editBtn.setOnAction(e -> showEditMenuForm(tableRef[0]));
-        removeBtn.setOnAction(e -> removeSelectedMenuItem(tableRef[0]));
+            addBtn.setOnAction(e -> showAddMenuForm());
+            editBtn.setOnAction(e -> showEditMenuForm(table));
+            removeBtn.setOnAction(e -> removeSelectedMenuItem(table));
 
-        HBox buttons = new HBox(10, addBtn, editBtn, removeBtn);
-        buttons.setStyle("-fx-padding: 10;");
+            HBox buttons = new HBox(10, addBtn, editBtn, removeBtn);
+            buttons.setStyle("-fx-padding: 10;");
 
-        VBox layout = new VBox(10, header, tableRef[0], buttons);
-        AnchorPane.setTopAnchor(layout, 0.0);
-        AnchorPane.setBottomAnchor(layout, 0.0);
-        AnchorPane.setLeftAnchor(layout, 0.0);
-        AnchorPane.setRightAnchor(layout, 0.0);
+            VBox layout = new VBox(10, header, table, buttons);
+            AnchorPane.setTopAnchor(layout, 0.0);
+            AnchorPane.setBottomAnchor(layout, 0.0);
+            AnchorPane.setLeftAnchor(layout, 0.0);
+            AnchorPane.setRightAnchor(layout, 0.0);
 
-        mainDisplayPane.getChildren().add(layout);
+            mainDisplayPane.getChildren().add(layout);
+        }, error -> {
+            error.printStackTrace();
+            mainDisplayPane.getChildren().add(new Label("Error loading menu."));
+        });
     }
 
     private void showAddMenuForm() {
@@ -499,7 +514,7 @@ public class ManagerController {
     }
 
     private void addMenuItemToDatabase(int id, String name, String category, double price, String desc) {
-        try (Connection conn = DatabaseConnector.getConnection()) {
+        runUpdate(conn -> {
             String sql = "INSERT INTO menu (menuID, menuName, category, price, menuDescription) VALUES (?, ?, ?, ?, ?)";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setInt(1, id);
@@ -507,13 +522,8 @@ public class ManagerController {
             stmt.setString(3, category);
             stmt.setDouble(4, price);
             stmt.setString(5, desc);
-            stmt.executeUpdate();
-
-            new Alert(Alert.AlertType.INFORMATION, "Menu item added successfully!").showAndWait();
-            handleMenuButton();
-        } catch (SQLException e) {
-            new Alert(Alert.AlertType.ERROR, "Error adding menu item: " + e.getMessage()).showAndWait();
-        }
+            return stmt.executeUpdate();
+        }, "Menu item added successfully!", "Error adding menu item: ", this::onMenuChanged);
     }
 
     private void showEditMenuForm(TableView<ObservableList<String>> table) {
@@ -566,20 +576,15 @@ public class ManagerController {
     }
 
     private void updateMenuItem(int id, String name, String category, double price) {
-        try (Connection conn = DatabaseConnector.getConnection()) {
+        runUpdate(conn -> {
             String sql = "UPDATE menu SET menuName = ?, category = ?, price = ? WHERE menuID = ?";
             PreparedStatement stmt = conn.prepareStatement(sql);
             stmt.setString(1, name);
             stmt.setString(2, category);
             stmt.setDouble(3, price);
             stmt.setInt(4, id);
-            stmt.executeUpdate();
-
-            new Alert(Alert.AlertType.INFORMATION, "Menu item updated successfully!").showAndWait();
-            handleMenuButton();
-        } catch (SQLException e) {
-            new Alert(Alert.AlertType.ERROR, "Error updating menu item: " + e.getMessage()).showAndWait();
-        }
+            return stmt.executeUpdate();
+        }, "Menu item updated successfully!", "Error updating menu item: ", this::onMenuChanged);
     }
 
     private void removeSelectedMenuItem(TableView<ObservableList<String>> table) {
@@ -597,24 +602,41 @@ public class ManagerController {
 
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.YES) {
-                try (Connection conn = DatabaseConnector.getConnection()) {
+                runUpdate(conn -> {
                     String sql = "DELETE FROM menu WHERE menuID = ?";
                     PreparedStatement stmt = conn.prepareStatement(sql);
                     stmt.setInt(1, menuID);
-                    stmt.executeUpdate();
-
-                    new Alert(Alert.AlertType.INFORMATION, "Menu item removed successfully!").showAndWait();
-                    handleMenuButton();
-                } catch (SQLException e) {
-                    new Alert(Alert.AlertType.ERROR, "Error removing menu item: " + e.getMessage()).showAndWait();
-                }
+                    return stmt.executeUpdate();
+                }, "Menu item removed successfully!", "Error removing menu item: ", this::onMenuChanged);
             }
         });
     }
 
+    // Refresh this terminal's login index right away; other terminals pick it up on their version check
+    private void onEmployeesChanged() {
+        AuthService.refreshAsync();
+        handleEmployeeButton();
+    }
+
+    // Refresh this terminal's menu cache right away; other terminals pick it up on their version check
+    private void onMenuChanged() {
+        MenuCatalog.refreshAsync();
+        handleMenuButton();
+    }
+
+    // === HELPER: Run a write on a data worker, then report back on the FX thread ===
+    // Writes are not tied to screenLane, so navigating away never cancels them.
+    private void runUpdate(DataExecutor.SqlWork<Integer> update, String successMessage, String errorPrefix, Runnable onSuccess) {
+        DataExecutor.onFxThread(DataExecutor.submit(update), rows -> {
+            new Alert(Alert.AlertType.INFORMATION, successMessage).showAndWait();
+            onSuccess.run();
+        }, e -> new Alert(Alert.AlertType.ERROR, errorPrefix + e.getMessage()).showAndWait());
+    }
+
     // === BACK TO LOGIN ===
     @FXML
     private void handleBackToLogin() {
+        screenLane.cancel();
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/app/LoginView.fxml"));
             Scene scene = new Scene(loader.load(), 800, 600);
@@ -640,7 +662,8 @@ public class ManagerController {
         Button zReportBtn = new Button("Z-Report");
         Button rangeBtn = new Button("Range Report");
         Button productUsageChartBtn = new Button("Product Usage Chart");
-        buttonRow.getChildren().addAll(xReportBtn, zReportBtn, rangeBtn, productUsageChartBtn);
+        Button drillDownBtn = new Button("Sales Drill-Down");
+        buttonRow.getChildren().addAll(xReportBtn, zReportBtn, rangeBtn, productUsageChartBtn, drillDownBtn);
         buttonRow.setStyle("-fx-padding: 10;");
 
         Label totalRevenueLabel = new Label("$0.00");
@@ -670,6 +693,17 @@ public class ManagerController {
         AnchorPane.setRightAnchor(layout, 0.0);
         mainDisplayPane.getChildren().add(layout);
 
+        // Today's best sellers show straight from the live tracker, then again once other registers' orders are read
+        LocalDate today = currDate;
+        table.setItems(FXCollections.observableArrayList(toTopItems(TopSellers.top(today, null))));
+        screenLane.run(conn -> {
+            TopSellers.load(conn, today, today.plusDays(1));
+            return TopSellers.top(today, null);
+        }, sellers -> table.setItems(FXCollections.observableArrayList(toTopItems(sellers))), ex -> {
+            ex.printStackTrace();
+            new Alert(Alert.AlertType.ERROR, "Error loading today's top items: " + ex.getMessage()).showAndWait();
+        });
+
         rangeBtn.setOnAction(e -> {
             mainDisplayPane.getChildren().clear();
             Label rangeHeader = new Label("Sales Report by Date Range");
@@ -708,52 +742,14 @@ public class ManagerController {
                 return;
             }
 
-            try (Connection conn = DatabaseConnector.getConnection()) {
-                // Query total revenue and orders
-                String totalsQuery = """
-                    SELECT COALESCE(SUM(orderTotal), 0) AS totalRevenue, COUNT(*) AS totalOrders
-                    FROM ordertest
-                    WHERE orderDate >= ? AND orderDate < ?;
-                """;
-                try (PreparedStatement ps = conn.prepareStatement(totalsQuery)) {
-                    ps.setTimestamp(1, Timestamp.valueOf(start.atStartOfDay()));
-                    ps.setTimestamp(2, Timestamp.valueOf(end.plusDays(1).atStartOfDay()));
-                    ResultSet rs = ps.executeQuery();
-                    if (rs.next()) {
-                        totalRev.setText(String.format("$%,.2f", rs.getDouble("totalRevenue")));
-                        totalOrders.setText(String.valueOf(rs.getInt("totalOrders")));
-                    }
-                }
-
-                // Query top items in range
-                String topQuery = """
-                    SELECT m.menuName AS itemName,
-                           SUM(oi.quantityPurchased * oi.priceAtPurchase) AS totalRevenue
-                    FROM orderItem oi
-                    JOIN menu m ON m.menuID = oi.menuID
-                    JOIN ordertest o ON o.orderID = oi.orderID
-                    WHERE o.orderDate >= ? AND o.orderDate < ?
-                    GROUP BY m.menuName
-                    ORDER BY totalRevenue DESC
-                    LIMIT 5;
-                """;
-
-                ObservableList<TopItem> list = FXCollections.observableArrayList();
-                try (PreparedStatement ps = conn.prepareStatement(topQuery)) {
-                    ps.setTimestamp(1, Timestamp.valueOf(start.atStartOfDay()));
-                    ps.setTimestamp(2, Timestamp.valueOf(end.plusDays(1).atStartOfDay()));
-                    ResultSet rs = ps.executeQuery();
-                    while (rs.next()) {
-                        list.add(new TopItem(rs.getString("itemName"), rs.getDouble("totalRevenue")));
-                    }
-                }
-
-                rangeTable.setItems(list);
-
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
-                    new Alert(Alert.AlertType.ERROR, "Error generating Range Report: " + ex.getMessage()).showAndWait();
-                }
+            screenLane.runSections(sections -> queryRangeReport(sections, start, end.plusDays(1)), report -> {
+                totalRev.setText(String.format("$%,.2f", report.totalRevenue()));
+                totalOrders.setText(String.valueOf(report.totalOrders()));
+                rangeTable.setItems(FXCollections.observableArrayList(report.topItems()));
+            }, ex -> {
+                ex.printStackTrace();
+                new Alert(Alert.AlertType.ERROR, "Error generating Range Report: " + ex.getMessage()).showAndWait();
+            });
             });
         });
 
@@ -788,81 +784,21 @@ public class ManagerController {
             AnchorPane.setRightAnchor(xReportlayout, 0.0);
             mainDisplayPane.getChildren().add(xReportlayout);
 
-            try (Connection conn = DatabaseConnector.getConnection()) {
-                if (conn == null) {
-                    new Alert(Alert.AlertType.ERROR, "Database connection failed.").showAndWait();
-                    return;
-                }
-
-                // === HOURLY SALES ===
-                String hourlySql = """
-                    SELECT EXTRACT(HOUR FROM orderDate) AS hour,
-                        SUM(orderTotal) AS totalSales
-                    FROM ordertest
-                    WHERE DATE(orderDate) = ?
-                    GROUP BY hour
-                    ORDER BY hour;
-                """;
-                PreparedStatement ps = conn.prepareStatement(hourlySql);
-                ps.setDate(1, java.sql.Date.valueOf(currDate));
-                ResultSet rs = ps.executeQuery();
-
+            LocalDate reportDate = currDate;
+            screenLane.run(conn -> queryXReport(conn, reportDate), report -> {
                 XYChart.Series<String, Number> series = new XYChart.Series<>();
-                double totalSales = 0;
-
-                while (rs.next()) {
-                    String hour = String.format("%02d:00", rs.getInt("hour"));
-                    double sales = rs.getDouble("totalSales");
-                    totalSales += sales;
-                    series.getData().add(new XYChart.Data<>(hour, sales));
+                for (HourlySales hourly : report.hourlySales()) {
+                    series.getData().add(new XYChart.Data<>(String.format("%02d:00", hourly.hour()), hourly.sales()));
                 }
                 chart.getData().add(series);
-                totalSalesLabel.setText(String.format("Total Sales: $%,.2f", totalSales));
-
-                // === RETURNS ===
-                String returnsSql = """
-                    SELECT COALESCE(SUM(orderTotal),0) AS totalReturns
-                    FROM ordertest
-                    WHERE orderTotal < 0 AND DATE(orderDate) = ?;
-                """;
-                PreparedStatement psReturns = conn.prepareStatement(returnsSql);
-                psReturns.setDate(1, java.sql.Date.valueOf(currDate));
-                ResultSet rsReturns = psReturns.executeQuery();
-                if (rsReturns.next()) {
-                    double returns = Math.abs(rsReturns.getDouble("totalReturns"));
-                    totalReturnsLabel.setText(String.format("Returns: $%,.2f", returns));
-                }   
-
-                // === VOIDS ===
-                String voidsSql = """
-                    SELECT COUNT(*) AS voidCount
-                    FROM ordertest
-                    WHERE orderTotal = 0 AND DATE(orderDate) = ?;
-                """;
-                PreparedStatement psVoids = conn.prepareStatement(voidsSql);
-                psVoids.setDate(1, java.sql.Date.valueOf(currDate));
-                ResultSet rsVoids = psVoids.executeQuery();
-                if (rsVoids.next()) {
-                    int voidCount = rsVoids.getInt("voidCount");
-                    totalVoidsLabel.setText("Voids: " + voidCount);
-                }
-
-                // === DISCARDS ===
-                String discardsSql = """
-                    SELECT COALESCE(SUM(restockOrdered),0) AS totalDiscards
-                    FROM inventory
-                    WHERE restockOrdered > 0;
-                """;
-            ResultSet rsDiscards = conn.prepareStatement(discardsSql).executeQuery();
-            if (rsDiscards.next()) {
-                double discards = rsDiscards.getDouble("totalDiscards");
-                totalDiscardsLabel.setText(String.format("Discards: %.0f items", discards));
-            }
-
-            } catch (SQLException ex) {
+                totalSalesLabel.setText(String.format("Total Sales: $%,.2f", report.totalSales()));
+                totalReturnsLabel.setText(String.format("Returns: $%,.2f", report.returns()));
+                totalVoidsLabel.setText("Voids: " + report.voidCount());
+                totalDiscardsLabel.setText(String.format("Discards: %.0f items", report.discards()));
+            }, ex -> {
                 ex.printStackTrace();
                 new Alert(Alert.AlertType.ERROR, "Error generating X-Report: " + ex.getMessage()).showAndWait();
-            }
+            });
         });
     
         zReportBtn.setOnAction(e -> {
@@ -877,36 +813,16 @@ public class ManagerController {
             AnchorPane.setRightAnchor(zReportLayout, 0.0);
             mainDisplayPane.getChildren().add(zReportLayout);
 
-            try (Connection conn = DatabaseConnector.getConnection()) {
-                String sql = """
-                    SELECT 
-                        COALESCE(SUM(orderTotal), 0) AS totalSales,
-                        COUNT(orderID) AS totalOrders,
-                        MIN(orderDate) AS firstOrder,
-                        MAX(orderDate) AS lastOrder
-                    FROM ordertest
-                    WHERE DATE(orderDate) = ?;
-                """;
-
-                PreparedStatement ps = conn.prepareStatement(sql);
-                ps.setDate(1, java.sql.Date.valueOf(currDate));
-                ResultSet rs = ps.executeQuery();
-
-                if (rs.next()) {
-                    double totalSales = rs.getDouble("totalSales");
-                    int totalOrders = rs.getInt("totalOrders");
-                    Timestamp firstOrder = rs.getTimestamp("firstOrder");
-                    Timestamp lastOrder = rs.getTimestamp("lastOrder");
-
-                    Label salesLabel = new Label(String.format("Total Sales: $%,.2f", totalSales));
-                    Label orderCountLabel = new Label("Orders Processed: " + totalOrders);
-                    Label startLabel = new Label("First Order: " + (firstOrder != null ? firstOrder.toString() : "None"));
-                    Label endLabel = new Label("Last Order: " + (lastOrder != null ? lastOrder.toString() : "None"));
-
-                    VBox totalsBox = new VBox(5, salesLabel, orderCountLabel, startLabel, endLabel);
-                    totalsBox.setStyle("-fx-padding: 10; -fx-background-color: #f4f4f4; -fx-background-radius: 8;");
-                    zReportLayout.getChildren().add(totalsBox);
-                }
+            LocalDate reportDate = currDate;
+            screenLane.run(conn -> queryZReport(conn, reportDate), report -> {
+                Label salesLabel = new Label(String.format("Total Sales: $%,.2f", report.totalSales()));
+                Label orderCountLabel = new Label("Orders Processed: " + report.totalOrders());
+                Label startLabel = new Label("First Order: " + (report.firstOrder() != null ? report.firstOrder().toString() : "None"));
+                Label endLabel = new Label("Last Order: " + (report.lastOrder() != null ? report.lastOrder().toString() : "None"));
+
+                VBox totalsBox = new VBox(5, salesLabel, orderCountLabel, startLabel, endLabel);
+                totalsBox.setStyle("-fx-padding: 10; -fx-background-color: #f4f4f4; -fx-background-radius: 8;");
+                zReportLayout.getChildren().add(totalsBox);
 
                 // === Adjustments and Charges Section ===
                 Label adjHeader = new Label("Adjustments and Charges");
@@ -946,13 +862,14 @@ public class ManagerController {
                 VBox finalizeBox = new VBox(10, adjBox); //finalizeBtn
                 finalizeBox.setStyle("-fx-padding: 10;");
                 zReportLayout.getChildren().add(finalizeBox);
-
-            } catch (SQLException ex) {
+            }, ex -> {
                 ex.printStackTrace();
                 new Alert(Alert.AlertType.ERROR, "Error generating Z-Report: " + ex.getMessage()).showAndWait();
-            }
+            });
         });
 
+        drillDownBtn.setOnAction(e -> showSalesDrillDown());
+
         // === Product Usage Chart ===
         productUsageChartBtn.setOnAction(e -> {
             mainDisplayPane.getChildren().clear();
@@ -1001,36 +918,10 @@ public class ManagerController {
 
                 usageChart.getData().clear();
 
-                try (Connection conn = DatabaseConnector.getConnection()) {
-                    if (conn == null) {
-                        new Alert(Alert.AlertType.ERROR, "Database connection failed.").showAndWait();
-                        return;
-                    }
-
-                    String sql = """
-                        SELECT 
-                            i.inventoryName AS ingredient,
-                            i.unit AS unit,
-                            ROUND(SUM(mi.menuInfoQuantity * oi.quantityPurchased), 2) AS totalUsed
-                        FROM ordertest o
-                        JOIN orderItem oi ON o.orderID = oi.orderID
-                        JOIN menuInfo mi ON oi.menuID = mi.menuID
-                        JOIN inventory i ON mi.inventoryID = i.inventoryID
-                        WHERE o.orderDate BETWEEN ? AND ?
-                        GROUP BY i.inventoryName, i.unit
-                        ORDER BY totalUsed DESC;
-                    """;
-
-                    PreparedStatement ps = conn.prepareStatement(sql);
-                    ps.setTimestamp(1, Timestamp.valueOf(start.atStartOfDay()));
-                    ps.setTimestamp(2, Timestamp.valueOf(end.plusDays(1).atStartOfDay()));
-                    ResultSet rs = ps.executeQuery();
-
+                screenLane.run(conn -> queryProductUsage(conn, start, end.plusDays(1)), usage -> {
                     XYChart.Series<String, Number> series = new XYChart.Series<>();
-                    while (rs.next()) {
-                        String ingredient = rs.getString("ingredient") + " (" + rs.getString("unit") + ")";
-                        double used = rs.getDouble("totalUsed");
-                        series.getData().add(new XYChart.Data<>(ingredient, used));
+                    for (IngredientUsage ingredient : usage) {
+                        series.getData().add(new XYChart.Data<>(ingredient.ingredient() + " (" + ingredient.unit() + ")", ingredient.used()));
                     }
 
                     if (series.getData().isEmpty()) {
@@ -1038,15 +929,137 @@ public class ManagerController {
                     } else {
                         usageChart.getData().add(series);
                     }
-
-                } catch (SQLException ex) {
+                }, ex -> {
                     ex.printStackTrace();
                     new Alert(Alert.AlertType.ERROR, "Error generating Product Usage Chart: " + ex.getMessage()).showAndWait();
-                }
+                });
             });
         });
 
     }   
+    // === Sales Drill-Down ===
+    // Revenue by category, then by item within a clicked category, with the hourly curve for the same slice.
+    // Everything after the first refresh is answered from SalesCube in memory.
+    private void showSalesDrillDown() {
+        mainDisplayPane.getChildren().clear();
+
+        Label header = new Label("Sales Drill-Down");
+        header.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-padding: 10;");
+
+        DatePicker startPicker = new DatePicker(currDate.minusDays(30));
+        DatePicker endPicker = new DatePicker(currDate);
+        ComboBox<String> locationBox = new ComboBox<>();
+        Button generateBtn = new Button("Generate");
+        Button upBtn = new Button("All Categories");
+        upBtn.setDisable(true);
+        HBox inputs = new HBox(10, new Label("Start:"), startPicker, new Label("End:"), endPicker,
+                new Label("Location:"), locationBox, generateBtn, upBtn);
+        inputs.setStyle("-fx-padding: 10;");
+        inputs.setAlignment(Pos.CENTER_LEFT);
+
+        Label pathLabel = new Label("All categories");
+        pathLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-padding: 0 10;");
+
+        BarChart<String, Number> revenueChart = new BarChart<>(new CategoryAxis(), new NumberAxis());
+        revenueChart.setLegendVisible(false);
+        revenueChart.setAnimated(false);
+        revenueChart.getYAxis().setLabel("Revenue ($)");
+        LineChart<String, Number> hourChart = new LineChart<>(new CategoryAxis(), new NumberAxis());
+        hourChart.setLegendVisible(false);
+        hourChart.setAnimated(false);
+        hourChart.getYAxis().setLabel("Revenue ($)");
+        hourChart.getXAxis().setLabel("Hour of Day");
+        HBox charts = new HBox(10, revenueChart, hourChart);
+        HBox.setHgrow(revenueChart, Priority.ALWAYS);
+        HBox.setHgrow(hourChart, Priority.ALWAYS);
+
+        VBox layout = new VBox(10, header, inputs, pathLabel, charts);
+        AnchorPane.setTopAnchor(layout, 0.0);
+        AnchorPane.setBottomAnchor(layout, 0.0);
+        AnchorPane.setLeftAnchor(layout, 0.0);
+        AnchorPane.setRightAnchor(layout, 0.0);
+        mainDisplayPane.getChildren().add(layout);
+
+        // Current category (-1 = all) is the screen's only drill state; render[0] redraws both charts from the cube
+        int[] category = { -1 };
+        Runnable[] render = new Runnable[1];
+        render[0] = () -> {
+            LocalDate start = startPicker.getValue();
+            LocalDate end = endPicker.getValue();
+            if (start == null || end == null || end.isBefore(start)) return;
+            int location = locationBox.getSelectionModel().getSelectedIndex() - 1;
+            SalesCube.Slice slice = SalesCube.Slice.days(start, end.plusDays(1)).withLocation(location).withCategory(category[0]);
+
+            XYChart.Series<String, Number> bars = new XYChart.Series<>();
+            List<Integer> barKeys = new ArrayList<>();
+            if (category[0] < 0) {
+                long[] byCategory = SalesCube.rollUp(slice, SalesCube.Dimension.CATEGORY, SalesCube.Measure.REVENUE);
+                for (int c = 0; c < byCategory.length; c++) {
+                    if (byCategory[c] == 0) continue;
+                    bars.getData().add(new XYChart.Data<>(SalesCube.categories().get(c), byCategory[c] / 100.0));
+                    barKeys.add(c);
+                }
+                pathLabel.setText("All categories: click a bar to see its items");
+            } else {
+                long[] byItem = SalesCube.rollUp(slice, SalesCube.Dimension.ITEM, SalesCube.Measure.REVENUE);
+                for (int menuID = 0; menuID < byItem.length; menuID++) {
+                    if (byItem[menuID] == 0) continue;
+                    bars.getData().add(new XYChart.Data<>(SalesCube.itemName(menuID), byItem[menuID] / 100.0));
+                }
+                pathLabel.setText("Category: " + SalesCube.categories().get(category[0]));
+            }
+            revenueChart.getData().setAll(List.of(bars));
+            upBtn.setDisable(category[0] < 0);
+
+            XYChart.Series<String, Number> hours = new XYChart.Series<>();
+            long[] byHour = SalesCube.rollUp(slice, SalesCube.Dimension.HOUR, SalesCube.Measure.REVENUE);
+            for (int hour = 0; hour < byHour.length; hour++) {
+                if (byHour[hour] != 0) hours.getData().add(new XYChart.Data<>(String.format("%02d:00", hour), byHour[hour] / 100.0));
+            }
+            hourChart.getData().setAll(List.of(hours));
+
+            // Bar nodes exist once the series is on the chart
+            for (int i = 0; i < barKeys.size(); i++) {
+                int drillTo = barKeys.get(i);
+                bars.getData().get(i).getNode().setOnMouseClicked(click -> {
+                    category[0] = drillTo;
+                    render[0].run();
+                });
+            }
+        };
+        upBtn.setOnAction(e -> {
+            category[0] = -1;
+            render[0].run();
+        });
+        locationBox.setOnAction(e -> {
+            if (SalesCube.isBuilt()) render[0].run();
+        });
+
+        generateBtn.setOnAction(e -> {
+            LocalDate start = startPicker.getValue();
+            LocalDate end = endPicker.getValue();
+            if (start == null || end == null || end.isBefore(start)) {
+                new Alert(Alert.AlertType.WARNING, "Please select a valid date range.").showAndWait();
+                return;
+            }
+            screenLane.run(conn -> {
+                SalesCube.refresh(conn);
+                return OrderAnalytics.locations();
+            }, locations -> {
+                String selected = locationBox.getValue();
+                List<String> options = new ArrayList<>();
+                options.add("All locations");
+                options.addAll(locations);
+                locationBox.getItems().setAll(options);
+                locationBox.getSelectionModel().select(options.contains(selected) ? selected : options.get(0));
+                render[0].run();
+            }, ex -> {
+                ex.printStackTrace();
+                new Alert(Alert.AlertType.ERROR, "Error building sales drill-down: " + ex.getMessage()).showAndWait();
+            });
+        });
+    }
+
     // === Product Usage Chart ===
     @FXML
     private void handleProductUsageChartButton() {
@@ -1075,49 +1088,184 @@ public class ManagerController {
     }
 
 
-    private void generateReport(LocalDateTime start, LocalDateTime end,
+    private void generateReport(LocalDate start, LocalDate end,
                                 Label totalRevenueLabel, Label totalOrdersLabel, TableView<TopItem> table) {
-        try (Connection conn = DatabaseConnector.getConnection()) {
-            String totalsQuery = """
-                SELECT COALESCE(SUM(orderTotal), 0) AS totalRevenue, COUNT(*) AS totalOrders
-                FROM ordertest
-                WHERE orderDate >= ? AND orderDate < ?;
-            """;
-            try (PreparedStatement ps = conn.prepareStatement(totalsQuery)) {
-                ps.setTimestamp(1, Timestamp.valueOf(start));
-                ps.setTimestamp(2, Timestamp.valueOf(end));
-                ResultSet rs = ps.executeQuery();
-                if (rs.next()) {
-                    totalRevenueLabel.setText(String.format("$%,.2f", rs.getDouble("totalRevenue")));
-                    totalOrdersLabel.setText(String.valueOf(rs.getInt("totalOrders")));
-                }
+        screenLane.runSections(sections -> queryRangeReport(sections, start, end), report -> {
+            totalRevenueLabel.setText(String.format("$%,.2f", report.totalRevenue()));
+            totalOrdersLabel.setText(String.valueOf(report.totalOrders()));
+            table.setItems(FXCollections.observableArrayList(report.topItems()));
+        }, e -> {
+            e.printStackTrace();
+            new Alert(Alert.AlertType.ERROR, "Error generating report: " + e.getMessage()).showAndWait();
+        });
+    }
+
+    // === REPORT QUERIES (run on a data worker) ===
+    // Sales figures come from the sales_hourly / sales_item_daily rollups (see SalesRollup), so a report reads
+    // one row per hour or item-day rather than every order in the range. Date filters are half-open ranges on the
+    // bare column ([day, next day)), which the indexes from SchemaMigrator can serve.
+    record RangeTotals(double totalRevenue, int totalOrders) {}
+    record RangeReport(double totalRevenue, int totalOrders, List<TopItem> topItems) {}
+    record HourlySales(int hour, double sales) {}
+    record XReport(List<HourlySales> hourlySales, double totalSales, double returns, int voidCount, double discards) {}
+    record ZReport(double totalSales, int totalOrders, Timestamp firstOrder, Timestamp lastOrder) {}
+    record IngredientUsage(String ingredient, String unit, double used) {}
+
+    // Whole days: start inclusive, end exclusive. Totals and top items are independent, so they run side by side
+    // on separate connections; if either fails the other is cancelled and the report fails as a whole.
+    // Once OrderAnalytics has loaded, the sums come from its in-memory columns and only menu names hit the database.
+    // Otherwise top items come from TopSellers, which only reads the days it has not seen yet (and today).
+    private static RangeReport queryRangeReport(DataExecutor.Sections sections, LocalDate start, LocalDate end) throws SQLException {
+        if (OrderAnalytics.isLoaded()) {
+            DataExecutor.Section<Map<Integer, String>> names = sections.fork(ManagerController::queryMenuNames);
+            DataExecutor.Section<Boolean> refreshed = sections.fork(conn -> {
+                OrderAnalytics.refresh(conn);
+                return true;
+            });
+            refreshed.get();
+            return rangeReportFromAnalytics(start.atStartOfDay(), end.atStartOfDay(), names.get());
+        }
+        DataExecutor.Section<RangeTotals> totals = sections.fork(conn -> queryRangeTotals(conn, start, end));
+        DataExecutor.Section<List<TopItem>> topItems = sections.fork(conn -> {
+            TopSellers.load(conn, start, end);
+            return toTopItems(TopSellers.top(start, end, null));
+        });
+        return new RangeReport(totals.get().totalRevenue(), totals.get().totalOrders(), topItems.get());
+    }
+
+    private static RangeReport rangeReportFromAnalytics(LocalDateTime start, LocalDateTime end, Map<Integer, String> names) {
+        OrderAnalytics.Totals totals = OrderAnalytics.totals(start, end);
+        // Same grouping as TopSellers: by menu name, so renamed duplicates fold together
+        Map<String, Long> byName = new HashMap<>();
+        long[] revenue = OrderAnalytics.revenueByMenu(start, end);
+        for (int menuID = 0; menuID < revenue.length; menuID++) {
+            if (revenue[menuID] == 0) continue;
+            byName.merge(names.getOrDefault(menuID, "Item " + menuID), revenue[menuID], Long::sum);
+        }
+        List<String> ranked = new ArrayList<>(byName.keySet());
+        ranked.sort((a, b) -> Long.compare(byName.get(b), byName.get(a)));
+        List<TopItem> topItems = new ArrayList<>();
+        for (String name : ranked.subList(0, Math.min(5, ranked.size()))) {
+            topItems.add(new TopItem(name, byName.get(name) / 100.0));
+        }
+        return new RangeReport(totals.revenueCents() / 100.0, totals.orders(), topItems);
+    }
+
+    private static Map<Integer, String> queryMenuNames(Connection conn) throws SQLException {
+        Map<Integer, String> names = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT menuID, menuName FROM menu")) {
+            while (rs.next()) {
+                names.put(rs.getInt("menuID"), rs.getString("menuName"));
             }
+        }
+        return names;
+    }
 
-            String topQuery = """
-                SELECT m.menuName AS itemName,
-                       SUM(oi.quantityPurchased * oi.priceAtPurchase) AS totalRevenue
-                FROM orderItem oi
-                JOIN menu m ON m.menuID = oi.menuID
-                JOIN ordertest o ON o.orderID = oi.orderID
-                WHERE o.orderDate >= ? AND o.orderDate < ?
-                GROUP BY m.menuName
-                ORDER BY totalRevenue DESC
-                LIMIT 5;
-            """;
-            ObservableList<TopItem> list = FXCollections.observableArrayList();
-            try (PreparedStatement ps = conn.prepareStatement(topQuery)) {
-                ps.setTimestamp(1, Timestamp.valueOf(start));
-                ps.setTimestamp(2, Timestamp.valueOf(end));
-                ResultSet rs = ps.executeQuery();
+    private static RangeTotals queryRangeTotals(Connection conn, LocalDate start, LocalDate end) throws SQLException {
+        double totalRevenue = 0;
+        int totalOrders = 0;
+        String totalsQuery = """
+            SELECT COALESCE(SUM(revenue), 0) AS totalRevenue, COALESCE(SUM(orderCount), 0) AS totalOrders
+            FROM sales_hourly
+            WHERE salesDay >= ? AND salesDay < ?;
+        """;
+        try (PreparedStatement ps = conn.prepareStatement(totalsQuery)) {
+            ps.setDate(1, java.sql.Date.valueOf(start));
+            ps.setDate(2, java.sql.Date.valueOf(end));
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                totalRevenue = rs.getDouble("totalRevenue");
+                totalOrders = rs.getInt("totalOrders");
+            }
+        }
+        return new RangeTotals(totalRevenue, totalOrders);
+    }
+
+    private static List<TopItem> toTopItems(List<TopSellers.Seller> sellers) {
+        List<TopItem> topItems = new ArrayList<>();
+        for (TopSellers.Seller seller : sellers) {
+            topItems.add(new TopItem(seller.name(), seller.revenueCents() / 100.0));
+        }
+        return topItems;
+    }
+
+    // One statement: GROUPING SETS gives a row per hour plus a grand-total row (isTotal = 1), which also carries
+    // the returns, voids and inventory discards. The empty grouping set always yields a row, even on a day with no sales.
+    private static XReport queryXReport(Connection conn, LocalDate reportDate) throws SQLException {
+        String sql = """
+            SELECT GROUPING(salesHour) AS isTotal,
+                salesHour AS hour,
+                COALESCE(SUM(revenue), 0) AS totalSales,
+                COALESCE(SUM(returnTotal), 0) AS totalReturns,
+                COALESCE(SUM(voidCount), 0) AS voidCount,
+                (SELECT COALESCE(SUM(restockOrdered), 0) FROM inventory WHERE restockOrdered > 0) AS totalDiscards
+            FROM sales_hourly
+            WHERE salesDay >= ? AND salesDay < ?
+            GROUP BY GROUPING SETS ((salesHour), ())
+            ORDER BY isTotal, hour;
+        """;
+        List<HourlySales> hourlySales = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setDate(1, java.sql.Date.valueOf(reportDate));
+            ps.setDate(2, java.sql.Date.valueOf(reportDate.plusDays(1)));
+            try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    list.add(new TopItem(rs.getString("itemName"), rs.getDouble("totalRevenue")));
+                    if (rs.getInt("isTotal") == 0) {
+                        hourlySales.add(new HourlySales(rs.getInt("hour"), rs.getDouble("totalSales")));
+                        continue;
+                    }
+                    return new XReport(hourlySales, rs.getDouble("totalSales"), Math.abs(rs.getDouble("totalReturns")),
+                            rs.getInt("voidCount"), rs.getDouble("totalDiscards"));
                 }
             }
-            table.setItems(list);
-        } catch (SQLException e) {
-            e.printStackTrace();
-            new Alert(Alert.AlertType.ERROR, "Error generating report: " + e.getMessage()).showAndWait();
         }
+        throw new SQLException("X-Report returned no total row");
+    }
+
+    private static ZReport queryZReport(Connection conn, LocalDate reportDate) throws SQLException {
+        String sql = """
+            SELECT
+                COALESCE(SUM(revenue), 0) AS totalSales,
+                COALESCE(SUM(orderCount), 0) AS totalOrders,
+                MIN(firstOrder) AS firstOrder,
+                MAX(lastOrder) AS lastOrder
+            FROM sales_hourly
+            WHERE salesDay >= ? AND salesDay < ?;
+        """;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setDate(1, java.sql.Date.valueOf(reportDate));
+            ps.setDate(2, java.sql.Date.valueOf(reportDate.plusDays(1)));
+            ResultSet rs = ps.executeQuery();
+            rs.next();
+            return new ZReport(rs.getDouble("totalSales"), rs.getInt("totalOrders"),
+                    rs.getTimestamp("firstOrder"), rs.getTimestamp("lastOrder"));
+        }
+    }
+
+    // Sums the ingredient_usage_daily ledger (see UsageLedger): one row per ingredient-day, add-ons included
+    private static List<IngredientUsage> queryProductUsage(Connection conn, LocalDate start, LocalDate end) throws SQLException {
+        String sql = """
+            SELECT
+                i.inventoryName AS ingredient,
+                i.unit AS unit,
+                ROUND(SUM(u.used), 2) AS totalUsed
+            FROM ingredient_usage_daily u
+            JOIN inventory i ON i.inventoryID = u.inventoryID
+            WHERE u.salesDay >= ? AND u.salesDay < ?
+            GROUP BY i.inventoryName, i.unit
+            ORDER BY totalUsed DESC;
+        """;
+        List<IngredientUsage> usage = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setDate(1, java.sql.Date.valueOf(start));
+            ps.setDate(2, java.sql.Date.valueOf(end));
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                usage.add(new IngredientUsage(rs.getString("ingredient"), rs.getString("unit"), rs.getDouble("totalUsed")));
+            }
+        }
+        return usage;
     }
 
     public static class TopItem {
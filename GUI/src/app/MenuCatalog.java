@@ -0,0 +1,167 @@
+package app;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// In-memory copy of the menu table, loaded once at login and served to the cashier screen without queries.
+// A background check compares a fingerprint of the table every few minutes and reloads when it changed
+// (or when the TTL runs out), then swaps in a new immutable snapshot.
+public final class MenuCatalog {
+
+    private static final long VERSION_CHECK_PERIOD_SEC = 120;
+    private static final long TTL_MS = 30 * 60_000;
+
+    private static final String MENU_QUERY = """
+        SELECT menuID, menuName, category, price, menuImage, SeasonalStart, SeasonalEnd
+        FROM menu
+        ORDER BY menuID
+    """;
+
+    // Cheap change detector for tables this small: one row, computed server-side.
+    // Covers menuInfo and the inventory columns behind the modifier options too, since RecipeBook and
+    // ModifierCatalog are reloaded with the menu (stock levels are left out: they change with every order).
+    private static final String VERSION_QUERY = """
+        SELECT md5(
+                   (SELECT COALESCE(string_agg(
+                        concat_ws('|', menuID, menuName, category, price, menuImage, SeasonalStart, SeasonalEnd),
+                        ',' ORDER BY menuID), '') FROM menu)
+                   || '#' ||
+                   (SELECT COALESCE(string_agg(
+                        concat_ws('|', menuInfoID, menuID, inventoryID, menuInfoQuantity),
+                        ',' ORDER BY menuInfoID), '') FROM menuInfo)
+                   || '#' ||
+                   (SELECT COALESCE(string_agg(
+                        concat_ws('|', inventoryID, inventoryName, addOnPrice, unit, allergy),
+                        ',' ORDER BY inventoryID), '') FROM inventory)) AS version
+    """;
+
+    public record MenuItem(int menuID, String name, String category, double price, int imageID,
+                           LocalDateTime seasonalStart, LocalDateTime seasonalEnd) {}
+
+    private record Snapshot(String version, long loadedAt, MenuItem[] items, Map<String, MenuItem[]> byCategory) {}
+
+    private static volatile Snapshot snapshot = null;
+    private static ScheduledExecutorService refresher = null;
+
+    private MenuCatalog() {}
+
+    // ===== READ =====
+    public static boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    public static List<MenuItem> getCategory(String category) {
+        Snapshot current = snapshot;
+        if (current == null) return List.of();
+        MenuItem[] items = current.byCategory().get(category);
+        return items == null ? List.of() : Collections.unmodifiableList(Arrays.asList(items));
+    }
+
+    public static List<MenuItem> getAllItems() {
+        Snapshot current = snapshot;
+        return current == null ? List.of() : Collections.unmodifiableList(Arrays.asList(current.items()));
+    }
+
+    public static String getVersion() {
+        Snapshot current = snapshot;
+        return current == null ? null : current.version();
+    }
+
+    // ===== LOAD / REFRESH =====
+    // Loads the menu on the caller's connection and starts the background refresher.
+    public static void start(Connection conn) throws SQLException {
+        load(conn, readVersion(conn));
+        startRefresher();
+    }
+
+    // Forces a reload on a data worker, e.g. after a manager edits the menu on this terminal.
+    public static CompletableFuture<Boolean> refreshAsync() {
+        return DataExecutor.submit(conn -> {
+            load(conn, readVersion(conn));
+            return true;
+        });
+    }
+
+    // Reloads only when the table fingerprint changed or the snapshot is older than the TTL.
+    static boolean refreshIfStale(Connection conn) throws SQLException {
+        String version = readVersion(conn);
+        Snapshot current = snapshot;
+        boolean expired = current == null || System.currentTimeMillis() - current.loadedAt() >= TTL_MS;
+        if (!expired && version.equals(current.version())) return false;
+        load(conn, version);
+        return true;
+    }
+
+    private static synchronized void startRefresher() {
+        if (refresher != null) return;
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "menu-catalog-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                DataExecutor.submit(MenuCatalog::refreshIfStale).join();
+            } catch (Exception e) {
+                System.err.println(" Menu refresh failed: " + e.getMessage());
+            }
+        }, VERSION_CHECK_PERIOD_SEC, VERSION_CHECK_PERIOD_SEC, TimeUnit.SECONDS);
+    }
+
+    private static String readVersion(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(VERSION_QUERY);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getString("version");
+        }
+    }
+
+    private static synchronized void load(Connection conn, String version) throws SQLException {
+        List<MenuItem> items = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(MENU_QUERY);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                items.add(new MenuItem(
+                        rs.getInt("menuID"),
+                        rs.getString("menuName"),
+                        rs.getString("category"),
+                        rs.getDouble("price"),
+                        rs.getInt("menuImage"),
+                        toLocalDateTime(rs.getTimestamp("SeasonalStart")),
+                        toLocalDateTime(rs.getTimestamp("SeasonalEnd"))));
+            }
+        }
+
+        Map<String, List<MenuItem>> grouped = new LinkedHashMap<>();
+        for (MenuItem item : items) {
+            grouped.computeIfAbsent(item.category(), k -> new ArrayList<>()).add(item);
+        }
+        Map<String, MenuItem[]> byCategory = new HashMap<>();
+        grouped.forEach((category, list) -> byCategory.put(category, list.toArray(new MenuItem[0])));
+
+        snapshot = new Snapshot(version, System.currentTimeMillis(),
+                items.toArray(new MenuItem[0]), Collections.unmodifiableMap(byCategory));
+        ModifierCatalog.load(conn, items, RecipeBook.load(conn));
+        AvailabilityScheduler.onMenuLoaded(items);
+        System.out.println(" Menu catalog loaded: " + items.size() + " items, " + byCategory.size() + " categories.");
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp ts) {
+        return ts == null ? null : ts.toLocalDateTime();
+    }
+}
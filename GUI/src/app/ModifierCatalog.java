@@ -0,0 +1,81 @@
+package app;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per-drink customization options, precomputed from inventory and the menuInfo recipes each time the menu loads.
+// Removable ingredients are the drink's own recipe ingredients measured in oz (cups, lids and straws are packaging);
+// extras are every oz ingredient with an add-on price. The customization dialog reads this without any query.
+public final class ModifierCatalog {
+
+    private static final String INVENTORY_QUERY = """
+        SELECT inventoryID, inventoryName, addOnPrice, unit, allergy
+        FROM inventory
+        ORDER BY inventoryID
+    """;
+
+    private static final String INGREDIENT_UNIT = "oz";
+
+    public record Modifier(int inventoryID, String name, long priceCents, String allergy) {
+
+        public boolean hasAllergen() {
+            return allergy != null && !allergy.isBlank() && !allergy.equalsIgnoreCase("None");
+        }
+
+        public String label() {
+            return hasAllergen() ? name + " (" + allergy + ")" : name;
+        }
+    }
+
+    public record DrinkModifiers(List<Modifier> removable, List<Modifier> extras) {}
+
+    private static final DrinkModifiers NONE = new DrinkModifiers(List.of(), List.of());
+
+    private static volatile Map<Integer, DrinkModifiers> byMenuID = Map.of();
+
+    private ModifierCatalog() {}
+
+    // ===== READ =====
+    public static DrinkModifiers get(int menuID) {
+        return byMenuID.getOrDefault(menuID, NONE);
+    }
+
+    // ===== LOAD =====
+    // Called by MenuCatalog after RecipeBook has been reloaded on the same connection.
+    static void load(Connection conn, List<MenuCatalog.MenuItem> items, RecipeBook recipes) throws SQLException {
+        Map<Integer, Modifier> ingredients = new HashMap<>();
+        List<Modifier> extras = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(INVENTORY_QUERY);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                if (!INGREDIENT_UNIT.equalsIgnoreCase(rs.getString("unit"))) continue;
+                Modifier modifier = new Modifier(
+                        rs.getInt("inventoryID"),
+                        rs.getString("inventoryName"),
+                        rs.getBigDecimal("addOnPrice") == null ? 0 : rs.getBigDecimal("addOnPrice").movePointRight(2).longValue(),
+                        rs.getString("allergy"));
+                ingredients.put(modifier.inventoryID(), modifier);
+                if (modifier.priceCents() > 0) extras.add(modifier);
+            }
+        }
+        List<Modifier> sharedExtras = List.copyOf(extras);
+
+        Map<Integer, DrinkModifiers> built = new HashMap<>();
+        for (MenuCatalog.MenuItem item : items) {
+            List<Modifier> removable = new ArrayList<>();
+            for (int i = recipes.start(item.menuID()), end = recipes.end(item.menuID()); i < end; i++) {
+                Modifier ingredient = ingredients.get(recipes.inventoryID(i));
+                if (ingredient != null) removable.add(ingredient);
+            }
+            built.put(item.menuID(), new DrinkModifiers(List.copyOf(removable), sharedExtras));
+        }
+        byMenuID = Collections.unmodifiableMap(built);
+    }
+}
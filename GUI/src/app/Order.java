@@ -0,0 +1,14 @@
+package app;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// A submitted order as it is written to ordertest, orderItem and modification. Money is in cents.
+public record Order(int employeeID, String location, Timestamp orderDate, long totalCents, List<Line> lines) {
+
+    // One drink. priceCents is the unit price the customer pays, extras included.
+    public record Line(int menuID, String name, long priceCents, int quantity, int size, List<Modification> modifications) {}
+
+    // quantity is +1 for an added extra and -1 for a removed ingredient
+    public record Modification(int inventoryID, String name, int quantity, long costCents) {}
+}
@@ -0,0 +1,357 @@
+package app;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+// Columnar in-memory copy of order history for the manager's range reports.
+// Closed days (before today) are loaded once into primitive arrays sorted by time: one set of columns per order
+// and one per order item. A range query binary-searches the minute column for its bounds and then runs plain
+// loops over the slice. Today's orders live in a small tail that is re-read on every refresh; when the date
+// rolls over, the finished days are appended to the closed columns.
+// Orders can also land on closed days (a cashier on a simulated date, BulkLoader, SalesHistoryGenerator loads).
+// Every refresh reads sales_hourly's order count per closed day and re-reads the columns from the earliest day
+// whose count moved since the last refresh. Consumers of the columns (SalesCube) ask changedSince for the days they have to recompute.
+// Item revenue is priceAtPurchase, the line total, the same figure the rollups and SQL reports use.
+public final class OrderAnalytics {
+
+    private static final String ORDERS_QUERY = """
+        SELECT orderDate, orderTotal, employeeID, orderLocation
+        FROM ordertest
+        WHERE orderDate >= ? AND orderDate < ?
+        ORDER BY orderDate
+    """;
+
+    private static final String ITEMS_QUERY = """
+        SELECT o.orderDate, oi.menuID, oi.priceAtPurchase AS revenue,
+               oi.quantityPurchased, o.employeeID, o.orderLocation
+        FROM orderItem oi
+        JOIN ordertest o ON o.orderID = oi.orderID
+        WHERE o.orderDate >= ? AND o.orderDate < ?
+        ORDER BY o.orderDate
+    """;
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 1, 1, 0, 0);
+    private static final int FETCH_SIZE = 10_000;
+
+    record Totals(long revenueCents, int orders) {}
+
+    // ===== COLUMNS =====
+    // Parallel arrays; row i of every column belongs to the same order (or item). Rows are sorted by minute.
+    static final class Columns {
+        int size;
+        int maxMenuID;
+        int[] minute;
+        int[] cents;
+        int[] employeeID;
+        int[] location;
+        int[] menuID;
+        int[] quantity;
+
+        Columns(int capacity, boolean items) {
+            minute = new int[capacity];
+            cents = new int[capacity];
+            employeeID = new int[capacity];
+            location = new int[capacity];
+            menuID = items ? new int[capacity] : null;
+            quantity = items ? new int[capacity] : null;
+        }
+
+        void ensureCapacity(int needed) {
+            if (needed <= minute.length) return;
+            int capacity = Math.max(needed, minute.length * 2);
+            minute = Arrays.copyOf(minute, capacity);
+            cents = Arrays.copyOf(cents, capacity);
+            employeeID = Arrays.copyOf(employeeID, capacity);
+            location = Arrays.copyOf(location, capacity);
+            if (menuID != null) {
+                menuID = Arrays.copyOf(menuID, capacity);
+                quantity = Arrays.copyOf(quantity, capacity);
+            }
+        }
+
+        Columns copy() {
+            return copy(size);
+        }
+
+        // The first `rows` rows only
+        Columns copy(int rows) {
+            Columns copy = new Columns(0, menuID != null);
+            copy.size = rows;
+            copy.maxMenuID = maxMenuID;
+            copy.minute = Arrays.copyOf(minute, rows);
+            copy.cents = Arrays.copyOf(cents, rows);
+            copy.employeeID = Arrays.copyOf(employeeID, rows);
+            copy.location = Arrays.copyOf(location, rows);
+            if (menuID != null) {
+                copy.menuID = Arrays.copyOf(menuID, rows);
+                copy.quantity = Arrays.copyOf(quantity, rows);
+            }
+            return copy;
+        }
+
+        // First row with minute >= key
+        int lowerBound(int key) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (minute[mid] < key) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    // Immutable once published; refresh builds a new one. dayCounts is sales_hourly's order count per closed day
+    // as of the read, the watermark the next refresh compares against.
+    private record Snapshot(Columns closedOrders, Columns closedItems, Columns todayOrders, Columns todayItems,
+                            LocalDate today, long generation, Map<LocalDate, Integer> dayCounts) {}
+
+    private static volatile Snapshot snapshot = null;
+    // Generation of each refresh that re-read closed days -> the earliest day it re-read
+    private static final TreeMap<Long, LocalDate> changes = new TreeMap<>();
+    // Location names are dictionary-encoded into the location column
+    private static final List<String> locations = new ArrayList<>();
+    private static final Map<String, Integer> locationIndex = new HashMap<>();
+
+    private OrderAnalytics() {}
+
+    public static boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    // Started on manager login so the first range report can already use the columns
+    public static CompletableFuture<Boolean> loadAsync() {
+        return DataExecutor.submit(conn -> {
+            refresh(conn);
+            return true;
+        });
+    }
+
+    // ===== LOAD / REFRESH =====
+    // First call loads every closed day; later calls re-read changed closed days, append days that have closed
+    // since and re-read today.
+    public static synchronized void refresh(Connection conn) throws SQLException {
+        LocalDate today = LocalDate.now();
+        Snapshot current = snapshot;
+        // Read before the columns: an order that commits in between is then reloaded next time instead of missed
+        Map<LocalDate, Integer> dayCounts = SalesRollup.orderCountsByDay(conn, BEGINNING.toLocalDate(), today);
+
+        Columns closedOrders;
+        Columns closedItems;
+        if (current == null) {
+            // Reading the whole history can outlast the pool's leak threshold on a slow link
+            DatabaseConnector.markLongRunning(conn);
+            long started = System.nanoTime();
+            closedOrders = new Columns(1 << 16, false);
+            closedItems = new Columns(1 << 16, true);
+            read(conn, BEGINNING, today.atStartOfDay(), closedOrders, closedItems);
+            // Drop the growth slack; these arrays live for the session
+            closedOrders = closedOrders.copy();
+            closedItems = closedItems.copy();
+            System.out.printf(" Order analytics loaded: %d orders, %d items (%d ms)%n",
+                    closedOrders.size, closedItems.size, (System.nanoTime() - started) / 1_000_000);
+        } else {
+            LocalDate changed = firstChangedDay(current.dayCounts(), dayCounts, current.today());
+            LocalDate from = changed != null ? changed : current.today();
+            if (from.isBefore(today)) {
+                // Published columns are shared with readers, so the reload goes into copies of the rows before it
+                int keep = toMinute(from.atStartOfDay());
+                closedOrders = current.closedOrders().copy(current.closedOrders().lowerBound(keep));
+                closedItems = current.closedItems().copy(current.closedItems().lowerBound(keep));
+                read(conn, from.atStartOfDay(), today.atStartOfDay(), closedOrders, closedItems);
+                if (changed != null) changes.put(current.generation() + 1, changed);
+            } else {
+                closedOrders = current.closedOrders();
+                closedItems = current.closedItems();
+            }
+        }
+
+        Columns todayOrders = new Columns(256, false);
+        Columns todayItems = new Columns(512, true);
+        read(conn, today.atStartOfDay(), END_OF_TIME, todayOrders, todayItems);
+        long generation = current == null ? 1 : current.generation() + 1;
+        snapshot = new Snapshot(closedOrders, closedItems, todayOrders, todayItems, today, generation, dayCounts);
+    }
+
+    // Earliest day before `before` whose count differs between the two watermarks, or null.
+    // Checks both sides, so a day whose orders were all deleted (no rows left) counts too.
+    private static LocalDate firstChangedDay(Map<LocalDate, Integer> loaded, Map<LocalDate, Integer> now,
+                                             LocalDate before) {
+        LocalDate first = null;
+        for (Map<LocalDate, Integer> side : List.of(loaded, now)) {
+            for (LocalDate day : side.keySet()) {
+                if (!day.isBefore(before) || (first != null && !day.isBefore(first))) continue;
+                if (!loaded.getOrDefault(day, 0).equals(now.getOrDefault(day, 0))) first = day;
+            }
+        }
+        return first;
+    }
+
+    private static void read(Connection conn, LocalDateTime from, LocalDateTime to, Columns orders, Columns items)
+            throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        // The driver only streams with fetchSize inside a transaction
+        conn.setAutoCommit(false);
+        try {
+            try (PreparedStatement ps = conn.prepareStatement(ORDERS_QUERY)) {
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setTimestamp(1, Timestamp.valueOf(from));
+                ps.setTimestamp(2, Timestamp.valueOf(to));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        int row = orders.size;
+                        orders.ensureCapacity(row + 1);
+                        orders.minute[row] = toMinute(rs.getTimestamp(1));
+                        orders.cents[row] = toCents(rs.getBigDecimal(2));
+                        orders.employeeID[row] = rs.getInt(3);
+                        orders.location[row] = locationOf(rs.getString(4));
+                        orders.size++;
+                    }
+                }
+            }
+            try (PreparedStatement ps = conn.prepareStatement(ITEMS_QUERY)) {
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setTimestamp(1, Timestamp.valueOf(from));
+                ps.setTimestamp(2, Timestamp.valueOf(to));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        int row = items.size;
+                        items.ensureCapacity(row + 1);
+                        items.minute[row] = toMinute(rs.getTimestamp(1));
+                        items.menuID[row] = rs.getInt(2);
+                        items.cents[row] = toCents(rs.getBigDecimal(3));
+                        items.quantity[row] = rs.getInt(4);
+                        items.employeeID[row] = rs.getInt(5);
+                        items.location[row] = locationOf(rs.getString(6));
+                        items.maxMenuID = Math.max(items.maxMenuID, items.menuID[row]);
+                        items.size++;
+                    }
+                }
+            }
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static int locationOf(String name) {
+        String key = name == null ? "" : name;
+        Integer index = locationIndex.get(key);
+        if (index == null) {
+            index = locations.size();
+            locations.add(key);
+            locationIndex.put(key, index);
+        }
+        return index;
+    }
+
+    static int toMinute(LocalDateTime time) {
+        return (int) (time.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    private static int toMinute(Timestamp time) {
+        return toMinute(time.toLocalDateTime());
+    }
+
+    private static int toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValueExact();
+    }
+
+    // ===== QUERIES =====
+    // Half-open [from, to), like the SQL reports
+    public static Totals totals(LocalDateTime from, LocalDateTime to) {
+        Snapshot s = requireLoaded();
+        int lo = toMinute(from);
+        int hi = toMinute(to);
+        long revenue = 0;
+        int orders = 0;
+        for (Columns columns : new Columns[] { s.closedOrders(), s.todayOrders() }) {
+            int start = columns.lowerBound(lo);
+            int end = columns.lowerBound(hi);
+            revenue += sum(columns.cents, start, end);
+            orders += Math.max(0, end - start);
+        }
+        return new Totals(revenue, orders);
+    }
+
+    // Revenue in cents indexed by menuID
+    public static long[] revenueByMenu(LocalDateTime from, LocalDateTime to) {
+        Snapshot s = requireLoaded();
+        int lo = toMinute(from);
+        int hi = toMinute(to);
+        long[] revenue = new long[Math.max(s.closedItems().maxMenuID, s.todayItems().maxMenuID) + 1];
+        for (Columns columns : new Columns[] { s.closedItems(), s.todayItems() }) {
+            sumBy(columns.menuID, columns.cents, columns.lowerBound(lo), columns.lowerBound(hi), revenue);
+        }
+        return revenue;
+    }
+
+    // Item columns for SalesCube: closed days first, then today's tail (disjoint in time, each sorted)
+    static Columns[] itemColumns() {
+        Snapshot s = requireLoaded();
+        return new Columns[] { s.closedItems(), s.todayItems() };
+    }
+
+    // The day the current tail starts at
+    static LocalDate today() {
+        return requireLoaded().today();
+    }
+
+    // Generation of the published columns; pass it to changedSince on the next refresh
+    static long generation() {
+        return requireLoaded().generation();
+    }
+
+    // Earliest closed day re-read by any refresh after `generation`, or null if none was
+    static synchronized LocalDate changedSince(long generation) {
+        LocalDate earliest = null;
+        for (LocalDate day : changes.tailMap(generation, false).values()) {
+            if (earliest == null || day.isBefore(earliest)) earliest = day;
+        }
+        return earliest;
+    }
+
+    static synchronized List<String> locations() {
+        return List.copyOf(locations);
+    }
+
+    private static Snapshot requireLoaded() {
+        Snapshot s = snapshot;
+        if (s == null) throw new IllegalStateException("Order analytics not loaded");
+        return s;
+    }
+
+    // ===== SCANS =====
+    // Straight counted loops over int arrays with a long accumulator: C2 unrolls and vectorizes the reduction.
+    static long sum(int[] values, int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+
+    // Scatter-add into out[keys[i]]; the keys are menuIDs, so out stays small and hot in cache
+    static void sumBy(int[] keys, int[] values, int from, int to, long[] out) {
+        for (int i = from; i < to; i++) {
+            out[keys[i]] += values[i];
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package app;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Group commit for order submission.
+// Registers hand orders to a bounded queue; a single writer takes whatever arrives within COALESCE_WINDOW_MS
+// (up to MAX_BATCH orders) and commits them together through OrderWriter.writeAll, so a rush of orders pays
+// one transaction and one fsync instead of one each. Every order gets its own future, completed with its orderID.
+public final class OrderPipeline {
+
+    public static final int QUEUE_CAPACITY = 512;
+    public static final int MAX_BATCH = 64;
+    public static final long COALESCE_WINDOW_MS = 3;
+
+    public record PipelineStats(long orders, long batches, double avgBatchSize, int maxBatchSize, long rejected,
+                                long fallbackBatches, int queued, LatencyRecorder.Percentiles ackLatency) {
+
+        @Override
+        public String toString() {
+            return String.format("orders=%d batches=%d avgBatch=%.1f maxBatch=%d rejected=%d fallbacks=%d queued=%d ack[%s]",
+                    orders, batches, avgBatchSize, maxBatchSize, rejected, fallbackBatches, queued, ackLatency);
+        }
+    }
+
+    private record Pending(Order order, long enqueuedAt, CompletableFuture<Integer> ack) {}
+
+    private static final BlockingQueue<Pending> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private static final LatencyRecorder ackLatency = new LatencyRecorder(16_384);
+    private static final LongAdder orders = new LongAdder();
+    private static final LongAdder batches = new LongAdder();
+    private static final LongAdder rejected = new LongAdder();
+    private static final LongAdder fallbackBatches = new LongAdder();
+    private static volatile int maxBatchSize = 0;
+    private static Thread writer = null;
+
+    private OrderPipeline() {}
+
+    // ===== SUBMIT =====
+    // Never blocks. When the queue is full the future fails with RejectedExecutionException right away,
+    // which is the caller's signal to back off and retry.
+    public static CompletableFuture<Integer> submit(Order order) {
+        startWriter();
+        Pending pending = new Pending(order, System.nanoTime(), new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            rejected.increment();
+            pending.ack().completeExceptionally(new RejectedExecutionException("Order queue is full"));
+        }
+        return pending.ack();
+    }
+
+    public static PipelineStats getStats() {
+        long batchCount = batches.sum();
+        long orderCount = orders.sum();
+        return new PipelineStats(orderCount, batchCount, batchCount == 0 ? 0 : (double) orderCount / batchCount,
+                maxBatchSize, rejected.sum(), fallbackBatches.sum(), queue.size(), ackLatency.snapshot());
+    }
+
+    // ===== WRITER =====
+    private static synchronized void startWriter() {
+        if (writer != null) return;
+        writer = new Thread(OrderPipeline::drain, "order-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static void drain() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(COALESCE_WINDOW_MS);
+                while (batch.size() < MAX_BATCH) {
+                    queue.drainTo(batch, MAX_BATCH - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= MAX_BATCH || remaining <= 0) break;
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable t) {
+                // Keep the writer alive; anything still unacknowledged fails
+                for (Pending pending : batch) pending.ack().completeExceptionally(t);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private static void commit(List<Pending> batch) {
+        List<Order> batchOrders = new ArrayList<>(batch.size());
+        for (Pending pending : batch) batchOrders.add(pending.order());
+
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            if (conn == null) throw new SQLException("Could not connect to database.");
+            try {
+                int[] orderIDs = OrderWriter.writeAll(conn, batchOrders);
+                for (int i = 0; i < batch.size(); i++) acknowledge(batch.get(i), orderIDs[i]);
+            } catch (SQLException batchError) {
+                if (batch.size() == 1) throw batchError;
+                // One bad order must not sink the rest: retry them one transaction each
+                fallbackBatches.increment();
+                for (Pending pending : batch) {
+                    try {
+                        acknowledge(pending, OrderWriter.write(conn, pending.order()));
+                    } catch (SQLException e) {
+                        pending.ack().completeExceptionally(e);
+                    }
+                }
+            }
+            batches.increment();
+            if (batch.size() > maxBatchSize) maxBatchSize = batch.size();
+        } catch (SQLException e) {
+            for (Pending pending : batch) pending.ack().completeExceptionally(e);
+        }
+    }
+
+    private static void acknowledge(Pending pending, int orderID) {
+        orders.increment();
+        ackLatency.record((System.nanoTime() - pending.enqueuedAt()) / 1000);
+        pending.ack().complete(orderID);
+    }
+}
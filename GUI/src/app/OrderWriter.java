@@ -0,0 +1,121 @@
+package app;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+// Writes a whole order (header, line items, modifications), its stock deduction and its sales rollup rows
+// in one transaction.
+// Ids come from IdAllocator and the child rows go out as JDBC batches, which the driver rewrites into
+// multi-row INSERTs (reWriteBatchedInserts), so the number of round trips is the same for 1 item or 20.
+public final class OrderWriter {
+
+    private static final String INSERT_ORDER = """
+        INSERT INTO ordertest (orderID, employeeID, orderLocation, orderDate, orderTotal)
+        VALUES (?, ?, ?, ?, ?)
+    """;
+
+    private static final String INSERT_ITEM = """
+        INSERT INTO orderItem (orderItemID, menuID, priceAtPurchase, quantityPurchased, orderID, orderSize)
+        VALUES (?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String INSERT_MODIFICATION = """
+        INSERT INTO modification (modificationID, inventoryID, orderItemID, modificationQuantity, cost)
+        VALUES (?, ?, ?, ?, ?)
+    """;
+
+    private OrderWriter() {}
+
+    // Returns the new orderID. Runs on a data worker thread.
+    public static int write(Connection conn, Order order) throws SQLException {
+        return writeAll(conn, List.of(order))[0];
+    }
+
+    // Writes several orders in one transaction (see OrderPipeline) and returns their orderIDs in the same order.
+    // Either every order commits or none does.
+    public static int[] writeAll(Connection conn, List<Order> orders) throws SQLException {
+        // Allocate before the transaction starts so a block refill never holds the orders' locks
+        int[] orderIDs = new int[orders.size()];
+        int itemCount = 0;
+        int modificationCount = 0;
+        for (int o = 0; o < orderIDs.length; o++) {
+            orderIDs[o] = IdAllocator.ORDER.nextId(conn);
+            for (Order.Line line : orders.get(o).lines()) {
+                itemCount++;
+                modificationCount += line.modifications().size();
+            }
+        }
+        int[] itemIDs = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            itemIDs[i] = IdAllocator.ORDER_ITEM.nextId(conn);
+        }
+        int[] modificationIDs = new int[modificationCount];
+        for (int i = 0; i < modificationCount; i++) {
+            modificationIDs[i] = IdAllocator.MODIFICATION.nextId(conn);
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement orderStmt = conn.prepareStatement(INSERT_ORDER);
+             PreparedStatement itemStmt = conn.prepareStatement(INSERT_ITEM);
+             PreparedStatement modStmt = conn.prepareStatement(INSERT_MODIFICATION)) {
+
+            int i = 0;
+            int m = 0;
+            for (int o = 0; o < orderIDs.length; o++) {
+                Order order = orders.get(o);
+                orderStmt.setInt(1, orderIDs[o]);
+                orderStmt.setInt(2, order.employeeID());
+                orderStmt.setString(3, order.location());
+                orderStmt.setTimestamp(4, order.orderDate());
+                orderStmt.setBigDecimal(5, BigDecimal.valueOf(order.totalCents(), 2));
+                orderStmt.addBatch();
+
+                for (Order.Line line : order.lines()) {
+                    itemStmt.setInt(1, itemIDs[i]);
+                    itemStmt.setInt(2, line.menuID());
+                    itemStmt.setBigDecimal(3, BigDecimal.valueOf(line.priceCents() * line.quantity(), 2));
+                    itemStmt.setInt(4, line.quantity());
+                    itemStmt.setInt(5, orderIDs[o]);
+                    itemStmt.setInt(6, line.size());
+                    itemStmt.addBatch();
+
+                    for (Order.Modification mod : line.modifications()) {
+                        modStmt.setInt(1, modificationIDs[m++]);
+                        modStmt.setInt(2, mod.inventoryID());
+                        modStmt.setInt(3, itemIDs[i]);
+                        modStmt.setInt(4, mod.quantity());
+                        modStmt.setBigDecimal(5, BigDecimal.valueOf(mod.costCents(), 2));
+                        modStmt.addBatch();
+                    }
+                    i++;
+                }
+            }
+            // Parents first, for the foreign keys
+            orderStmt.executeBatch();
+            if (itemCount > 0) itemStmt.executeBatch();
+            if (modificationCount > 0) modStmt.executeBatch();
+            InventoryDeduction.apply(conn, orders);
+            SalesRollup.apply(conn, orders);
+            UsageLedger.apply(conn, orders);
+
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        // The orders are committed; a failure here must not report them as failed
+        try {
+            TopSellers.record(orders);
+        } catch (RuntimeException e) {
+            System.err.println("Could not update live top sellers: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return orderIDs;
+    }
+}
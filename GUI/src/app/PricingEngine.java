@@ -0,0 +1,68 @@
+package app;
+
+// Running cart totals in integer cents. Each add/remove adjusts two counters and re-derives tax,
+// so the totals never drift and an edit costs the same however many lines the cart has.
+public final class PricingEngine {
+
+    // 8.25% sales tax, in basis points
+    public static final int TAX_RATE_BPS = 825;
+
+    private long baseCents = 0;
+    private long addOnCents = 0;
+    private long taxCents = 0;
+
+    // ===== UPDATE =====
+    public void add(CartLine line) {
+        baseCents += line.baseCents() * line.quantity();
+        addOnCents += line.addOnCents() * line.quantity();
+        taxCents = taxOf(getSubtotalCents());
+    }
+
+    public void remove(CartLine line) {
+        baseCents -= line.baseCents() * line.quantity();
+        addOnCents -= line.addOnCents() * line.quantity();
+        taxCents = taxOf(getSubtotalCents());
+    }
+
+    public void clear() {
+        baseCents = 0;
+        addOnCents = 0;
+        taxCents = 0;
+    }
+
+    // ===== TOTALS =====
+    public long getBaseCents() {
+        return baseCents;
+    }
+
+    public long getAddOnCents() {
+        return addOnCents;
+    }
+
+    public long getSubtotalCents() {
+        return baseCents + addOnCents;
+    }
+
+    public long getTaxCents() {
+        return taxCents;
+    }
+
+    public long getTotalCents() {
+        return getSubtotalCents() + taxCents;
+    }
+
+    // Tax on the whole subtotal, rounded half up to the cent
+    public static long taxOf(long subtotalCents) {
+        return (subtotalCents * TAX_RATE_BPS + 5_000) / 10_000;
+    }
+
+    public static long toCents(double dollars) {
+        return Math.round(dollars * 100);
+    }
+
+    public static String format(long cents) {
+        String sign = cents < 0 ? "-" : "";
+        long abs = Math.abs(cents);
+        return sign + "$" + (abs / 100) + "." + (abs % 100 < 10 ? "0" : "") + (abs % 100);
+    }
+}
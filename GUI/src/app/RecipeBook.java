@@ -0,0 +1,104 @@
+package app;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// In-memory copy of menuInfo (each drink's bill of materials), held as flat primitive arrays.
+// The ingredients of menuID m are inventoryIDs[offsets[m] .. offsets[m + 1]) with matching quantities,
+// so expanding an order into ingredient amounts touches no maps or boxed values.
+public final class RecipeBook {
+
+    private static final String RECIPE_QUERY = """
+        SELECT menuID, inventoryID, menuInfoQuantity
+        FROM menuInfo
+        ORDER BY menuID, inventoryID
+    """;
+
+    private static volatile RecipeBook current = null;
+
+    private final int[] offsets;
+    private final int[] inventoryIDs;
+    private final double[] quantities;
+    private final int maxInventoryID;
+
+    private RecipeBook(int[] offsets, int[] inventoryIDs, double[] quantities) {
+        this.offsets = offsets;
+        this.inventoryIDs = inventoryIDs;
+        this.quantities = quantities;
+        int max = 0;
+        for (int id : inventoryIDs) max = Math.max(max, id);
+        this.maxInventoryID = max;
+    }
+
+    // ===== ACCESS =====
+    // Loads on first use; MenuCatalog reloads it together with the menu.
+    public static RecipeBook get(Connection conn) throws SQLException {
+        RecipeBook book = current;
+        return book != null ? book : load(conn);
+    }
+
+    public int start(int menuID) {
+        return menuID >= 0 && menuID + 1 < offsets.length ? offsets[menuID] : 0;
+    }
+
+    public int end(int menuID) {
+        return menuID >= 0 && menuID + 1 < offsets.length ? offsets[menuID + 1] : 0;
+    }
+
+    public int inventoryID(int index) {
+        return inventoryIDs[index];
+    }
+
+    public double quantity(int index) {
+        return quantities[index];
+    }
+
+    // Amount of one ingredient in a drink's recipe, 0 if the drink does not use it
+    public double quantityOf(int menuID, int inventoryID) {
+        for (int i = start(menuID), end = end(menuID); i < end; i++) {
+            if (inventoryIDs[i] == inventoryID) return quantities[i];
+        }
+        return 0.0;
+    }
+
+    public int getMaxInventoryID() {
+        return maxInventoryID;
+    }
+
+    // ===== LOAD =====
+    public static synchronized RecipeBook load(Connection conn) throws SQLException {
+        List<int[]> keys = new ArrayList<>();
+        List<Double> amounts = new ArrayList<>();
+        int maxMenuID = -1;
+        try (PreparedStatement stmt = conn.prepareStatement(RECIPE_QUERY);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                int menuID = rs.getInt("menuID");
+                keys.add(new int[] { menuID, rs.getInt("inventoryID") });
+                amounts.add(rs.getDouble("menuInfoQuantity"));
+                maxMenuID = Math.max(maxMenuID, menuID);
+            }
+        }
+
+        // Rows arrive sorted by menuID, so offsets is a running count per menuID
+        int[] offsets = new int[maxMenuID + 2];
+        int[] inventoryIDs = new int[keys.size()];
+        double[] quantities = new double[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            offsets[keys.get(i)[0] + 1]++;
+            inventoryIDs[i] = keys.get(i)[1];
+            quantities[i] = amounts.get(i);
+        }
+        for (int m = 1; m < offsets.length; m++) {
+            offsets[m] += offsets[m - 1];
+        }
+
+        RecipeBook book = new RecipeBook(offsets, inventoryIDs, quantities);
+        current = book;
+        return book;
+    }
+}
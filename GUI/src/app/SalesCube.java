@@ -0,0 +1,341 @@
+package app;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// In-process sales cube over the OrderAnalytics item columns, for drill-down without SQL.
+// Two dense levels, each a flat array of (revenue cents, quantity) cells:
+//   byItem      [day][location][menuID]            -> totals, categories, items, days, locations
+//   byCategory  [day][location][category][hour]    -> hours, category x hour
+// Categories come from the menu table. Hours are kept per category, not per item, so an hourly breakdown can be
+// sliced to a category but not to a single item. The build splits the days across a fork/join pool; every task
+// writes only its own days, so no merging is needed. A refresh recomputes just the days since the last one.
+public final class SalesCube {
+
+    public enum Dimension { DAY, LOCATION, CATEGORY, ITEM, HOUR }
+
+    public enum Measure { REVENUE, QUANTITY }
+
+    // Half-open [from, to) days; -1 means every location, category or item
+    public record Slice(LocalDate from, LocalDate to, int location, int category, int menuID) {
+        public static Slice days(LocalDate from, LocalDate to) {
+            return new Slice(from, to, -1, -1, -1);
+        }
+
+        public Slice withLocation(int location) { return new Slice(from, to, location, category, menuID); }
+        public Slice withCategory(int category) { return new Slice(from, to, location, category, menuID); }
+        public Slice withItem(int menuID) { return new Slice(from, to, location, category, menuID); }
+    }
+
+    private static final int HOURS = 24;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int DAYS_PER_TASK = 32;
+
+    // ===== CUBE =====
+    private static final class Cube {
+        final int firstDay;
+        final int days;
+        final int locations;
+        final int items;
+        final int categories;
+        final int[] categoryOf;
+        final List<String> categoryNames;
+        final String[] itemNames;
+        final long[] itemRevenue;
+        final int[] itemQuantity;
+        final long[] hourRevenue;
+        final int[] hourQuantity;
+        int refreshedFromDay;
+        // OrderAnalytics generation the cells were last filled from
+        long generation;
+
+        Cube(int firstDay, int days, int locations, int[] categoryOf, List<String> categoryNames, String[] itemNames) {
+            this.firstDay = firstDay;
+            this.days = days;
+            this.locations = locations;
+            this.items = categoryOf.length;
+            this.categories = categoryNames.size();
+            this.categoryOf = categoryOf;
+            this.categoryNames = categoryNames;
+            this.itemNames = itemNames;
+            itemRevenue = new long[days * locations * items];
+            itemQuantity = new int[days * locations * items];
+            hourRevenue = new long[days * locations * categories * HOURS];
+            hourQuantity = new int[days * locations * categories * HOURS];
+        }
+
+        int itemCell(int day, int location, int menuID) {
+            return (day * locations + location) * items + menuID;
+        }
+
+        int hourCell(int day, int location, int category, int hour) {
+            return ((day * locations + location) * categories + category) * HOURS + hour;
+        }
+
+        // Clears and re-adds days [fromDay, toDay) (cube-relative) from the item columns
+        void fill(OrderAnalytics.Columns[] segments, int fromDay, int toDay) {
+            int lo = itemCell(fromDay, 0, 0);
+            int hi = itemCell(toDay, 0, 0);
+            Arrays.fill(itemRevenue, lo, hi, 0);
+            Arrays.fill(itemQuantity, lo, hi, 0);
+            lo = hourCell(fromDay, 0, 0, 0);
+            hi = hourCell(toDay, 0, 0, 0);
+            Arrays.fill(hourRevenue, lo, hi, 0);
+            Arrays.fill(hourQuantity, lo, hi, 0);
+
+            for (OrderAnalytics.Columns columns : segments) {
+                int start = columns.lowerBound((firstDay + fromDay) * MINUTES_PER_DAY);
+                int end = columns.lowerBound((firstDay + toDay) * MINUTES_PER_DAY);
+                for (int row = start; row < end; row++) {
+                    int minute = columns.minute[row];
+                    int day = minute / MINUTES_PER_DAY - firstDay;
+                    int hour = (minute % MINUTES_PER_DAY) / 60;
+                    int location = columns.location[row];
+                    int menuID = columns.menuID[row];
+                    int cents = columns.cents[row];
+                    int quantity = columns.quantity[row];
+
+                    int item = itemCell(day, location, menuID);
+                    itemRevenue[item] += cents;
+                    itemQuantity[item] += quantity;
+                    int cell = hourCell(day, location, categoryOf[menuID], hour);
+                    hourRevenue[cell] += cents;
+                    hourQuantity[cell] += quantity;
+                }
+            }
+        }
+    }
+
+    // Fork/join tasks are never serialized
+    @SuppressWarnings("serial")
+    private static final class FillDays extends RecursiveAction {
+        private final Cube cube;
+        private final OrderAnalytics.Columns[] segments;
+        private final int from;
+        private final int to;
+
+        FillDays(Cube cube, OrderAnalytics.Columns[] segments, int from, int to) {
+            this.cube = cube;
+            this.segments = segments;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= DAYS_PER_TASK) {
+                cube.fill(segments, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new FillDays(cube, segments, from, mid), new FillDays(cube, segments, mid, to));
+        }
+    }
+
+    private static volatile Cube cube = null;
+    // Serializes refreshes without blocking queries while one reads from the database
+    private static final Object REFRESH_LOCK = new Object();
+
+    private SalesCube() {}
+
+    public static boolean isBuilt() {
+        return cube != null;
+    }
+
+    // ===== BUILD / REFRESH =====
+    // Refreshes OrderAnalytics, then recomputes the days that can have changed since the last refresh: today, and
+    // any closed days OrderAnalytics has re-read since (see changedSince).
+    // Rebuilds from scratch when a new day, location or menu item no longer fits the arrays, or a re-read day
+    // falls before the cube's first day. Queries and the
+    // in-place day refresh hold the class lock; a full rebuild fills a new cube off to the side and swaps it in.
+    public static void refresh(Connection conn) throws SQLException {
+        synchronized (REFRESH_LOCK) {
+            rebuildOrRefresh(conn);
+        }
+    }
+
+    private static void rebuildOrRefresh(Connection conn) throws SQLException {
+        OrderAnalytics.refresh(conn);
+        // Taken before the columns: a refresh in between is then recomputed again next time rather than skipped
+        long generation = OrderAnalytics.generation();
+        OrderAnalytics.Columns[] segments = OrderAnalytics.itemColumns();
+        int today = (int) OrderAnalytics.today().toEpochDay();
+        int lastDay = today;
+        for (OrderAnalytics.Columns columns : segments) {
+            if (columns.size > 0) lastDay = Math.max(lastDay, columns.minute[columns.size - 1] / MINUTES_PER_DAY);
+        }
+        int maxMenuID = Math.max(segments[0].maxMenuID, segments[1].maxMenuID);
+        int locationCount = Math.max(1, OrderAnalytics.locations().size());
+
+        if (refreshInPlace(segments, generation, today, lastDay, locationCount, maxMenuID)) return;
+
+        long started = System.nanoTime();
+        int firstDay = segments[0].size > 0 ? segments[0].minute[0] / MINUTES_PER_DAY : today;
+        // A week of headroom so the next few days refresh in place
+        int days = lastDay - firstDay + 8;
+        Map<String, Integer> categoryIndex = new HashMap<>();
+        List<String> categoryNames = new ArrayList<>();
+        Map<Integer, String> itemNames = new HashMap<>();
+        int[] categoryOf = loadMenu(conn, maxMenuID, categoryIndex, categoryNames, itemNames);
+        String[] names = new String[categoryOf.length];
+        for (int menuID = 0; menuID < names.length; menuID++) {
+            names[menuID] = itemNames.getOrDefault(menuID, "Item " + menuID);
+        }
+        Cube built = new Cube(firstDay, days, locationCount, categoryOf, List.copyOf(categoryNames), names);
+        ForkJoinPool.commonPool().invoke(new FillDays(built, segments, 0, days));
+        built.refreshedFromDay = today - firstDay;
+        built.generation = generation;
+        synchronized (SalesCube.class) {
+            cube = built;
+        }
+        System.out.printf(" Sales cube built: %d days x %d locations x %d items (%d ms)%n",
+                days, locationCount, built.items, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static synchronized boolean refreshInPlace(OrderAnalytics.Columns[] segments, long generation, int today,
+                                                       int lastDay, int locationCount, int maxMenuID) {
+        Cube current = cube;
+        if (current == null || lastDay >= current.firstDay + current.days
+                || locationCount > current.locations || maxMenuID >= current.items) {
+            return false;
+        }
+        int from = Math.max(0, Math.min(current.refreshedFromDay, today - current.firstDay));
+        LocalDate changed = OrderAnalytics.changedSince(current.generation);
+        if (changed != null) {
+            int changedDay = (int) changed.toEpochDay() - current.firstDay;
+            if (changedDay < 0) return false;
+            from = Math.min(from, changedDay);
+        }
+        current.fill(segments, from, current.days);
+        current.refreshedFromDay = today - current.firstDay;
+        current.generation = generation;
+        return true;
+    }
+
+    // Returns the category index of every menuID up to the largest seen; fills in category and item names
+    private static int[] loadMenu(Connection conn, int maxMenuID, Map<String, Integer> index, List<String> names,
+                                  Map<Integer, String> itemNames) throws SQLException {
+        Map<Integer, String> byMenu = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT menuID, menuName, category FROM menu")) {
+            while (rs.next()) {
+                byMenu.put(rs.getInt("menuID"), rs.getString("category"));
+                itemNames.put(rs.getInt("menuID"), rs.getString("menuName"));
+                maxMenuID = Math.max(maxMenuID, rs.getInt("menuID"));
+            }
+        }
+        int[] categoryOf = new int[maxMenuID + 1];
+        for (int menuID = 0; menuID <= maxMenuID; menuID++) {
+            String category = byMenu.getOrDefault(menuID, "Other");
+            if (category == null) category = "Other";
+            Integer i = index.get(category);
+            if (i == null) {
+                i = names.size();
+                names.add(category);
+                index.put(category, i);
+            }
+            categoryOf[menuID] = i;
+        }
+        return categoryOf;
+    }
+
+    // ===== QUERIES =====
+    public static List<String> categories() {
+        return requireBuilt().categoryNames;
+    }
+
+    public static String itemName(int menuID) {
+        return requireBuilt().itemNames[menuID];
+    }
+
+    public static int categoryOf(int menuID) {
+        Cube c = requireBuilt();
+        return menuID < c.categoryOf.length ? c.categoryOf[menuID] : -1;
+    }
+
+    // Total of the measure over the slice
+    public static long total(Slice slice, Measure measure) {
+        long total = 0;
+        for (long value : rollUp(slice, Dimension.LOCATION, measure)) total += value;
+        return total;
+    }
+
+    // The measure over the slice, grouped by one dimension. The result is dense and indexed by the dimension's
+    // value: day offset from slice.from, location index (OrderAnalytics order), category index, menuID, or hour.
+    public static synchronized long[] rollUp(Slice slice, Dimension groupBy, Measure measure) {
+        Cube c = requireBuilt();
+        int fromDay = clamp((int) slice.from().toEpochDay() - c.firstDay, c.days);
+        int toDay = clamp((int) slice.to().toEpochDay() - c.firstDay, c.days);
+        int dayOffset = (int) (c.firstDay - slice.from().toEpochDay());
+        int locFrom = slice.location() < 0 ? 0 : slice.location();
+        int locTo = slice.location() < 0 ? c.locations : Math.min(slice.location() + 1, c.locations);
+
+        long[] out = new long[switch (groupBy) {
+            case DAY -> Math.max(0, (int) (slice.to().toEpochDay() - slice.from().toEpochDay()));
+            case LOCATION -> c.locations;
+            case CATEGORY -> c.categories;
+            case ITEM -> c.items;
+            case HOUR -> HOURS;
+        }];
+
+        if (groupBy == Dimension.HOUR) {
+            if (slice.menuID() >= 0) throw new IllegalArgumentException("Hours are kept per category, not per item");
+            long[] revenue = c.hourRevenue;
+            int[] quantity = c.hourQuantity;
+            int catFrom = slice.category() < 0 ? 0 : slice.category();
+            int catTo = slice.category() < 0 ? c.categories : slice.category() + 1;
+            for (int day = fromDay; day < toDay; day++) {
+                for (int loc = locFrom; loc < locTo; loc++) {
+                    for (int cat = catFrom; cat < catTo; cat++) {
+                        int base = c.hourCell(day, loc, cat, 0);
+                        for (int hour = 0; hour < HOURS; hour++) {
+                            out[hour] += measure == Measure.REVENUE ? revenue[base + hour] : quantity[base + hour];
+                        }
+                    }
+                }
+            }
+            return out;
+        }
+
+        int itemFrom = slice.menuID() < 0 ? 0 : Math.min(slice.menuID(), c.items);
+        int itemTo = slice.menuID() < 0 ? c.items : Math.min(slice.menuID() + 1, c.items);
+        for (int day = fromDay; day < toDay; day++) {
+            for (int loc = locFrom; loc < locTo; loc++) {
+                int base = c.itemCell(day, loc, 0);
+                for (int item = itemFrom; item < itemTo; item++) {
+                    int category = c.categoryOf[item];
+                    if (slice.category() >= 0 && category != slice.category()) continue;
+                    long value = measure == Measure.REVENUE ? c.itemRevenue[base + item] : c.itemQuantity[base + item];
+                    switch (groupBy) {
+                        case DAY -> out[day + dayOffset] += value;
+                        case LOCATION -> out[loc] += value;
+                        case CATEGORY -> out[category] += value;
+                        case ITEM -> out[item] += value;
+                        default -> throw new IllegalStateException();
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    private static int clamp(int day, int days) {
+        return Math.max(0, Math.min(day, days));
+    }
+
+    private static Cube requireBuilt() {
+        Cube c = cube;
+        if (c == null) throw new IllegalStateException("Sales cube not built");
+        return c;
+    }
+}
@@ -0,0 +1,271 @@
+package app;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Java port of Database/Scripts/SalesData.py for multi-year, multi-location stress data.
+// The date range is split into months and generated as a fork/join job. Each (day, location) draws from its own
+// SplittableRandom seeded from (seed, day, location) and owns a fixed block of orderIDs, orderItemIDs and
+// modificationIDs, so the output is byte-for-byte identical for any thread count. Every month is streamed to its own
+// part files through buffered channel writers, so memory use does not grow with the range.
+// The part directories (order/, orderItem/, modifications/) are read directly by BulkLoader.
+//
+// java -cp GUI/bin app.SalesHistoryGenerator --out build/history --start 2020-01-01 --days 1826 --locations 3
+//      [--seed 42] [--threads 8]
+public final class SalesHistoryGenerator {
+
+    // Same as SalesData.py: {orders per day, items per order, unused} and their standard deviations
+    private static final double[] PEAK_DAY = { 325, 2, 0.3 };
+    private static final double[] NORMAL_DAY = { 250, 1.5, 0.3 };
+    private static final double[] ST_DEVS = { 50, 0.25, 0.25 };
+    private static final Set<MonthDay> PEAK_DAYS = Set.of(
+            MonthDay.of(8, 12), MonthDay.of(6, 5), MonthDay.of(4, 30), MonthDay.of(12, 4), MonthDay.of(7, 6));
+
+    // menuID -> starting price in cents (menuItems in SalesData.py); prices rise 25 cents every 91 days
+    private static final long[] MENU_PRICE_CENTS = {
+            0, 580, 600, 650, 625, 625, 625, 650, 675, 675, 465, 485, 580, 625, 625, 625, 625, 520, 650, 650, 650,
+            695, 695, 580, 650, 520, 650, 625, 650, 650, 650, 675, 675, 675 };
+    private static final int PRICE_STEP_DAYS = 91;
+    private static final long PRICE_STEP_CENTS = 25;
+
+    private static final int ICE_ID = 27;
+    private static final long ICE_CENTS = 25;
+    private static final int BOBA_ID = 23;
+    private static final long BOBA_CENTS = 100;
+    private static final int EMPLOYEES = 3;
+
+    // Id block per (day, location); orders beyond the caps are not generated
+    static final int MAX_ORDERS_PER_DAY = 1000;
+    static final int MAX_ITEMS_PER_ORDER = 8;
+    static final int MAX_MODS_PER_ITEM = 2;
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Path out;
+    private final LocalDate start;
+    private final int days;
+    private final List<String> locations;
+    private final long seed;
+
+    SalesHistoryGenerator(Path out, LocalDate start, int days, List<String> locations, long seed) {
+        // Modification ids are the largest; the tables key on INT
+        long blocks = (long) days * locations.size();
+        if (blocks * MAX_ORDERS_PER_DAY * MAX_ITEMS_PER_ORDER * MAX_MODS_PER_ITEM > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format(
+                    "%d days x %d locations overflows the INT id range; at most %d (day, location) blocks fit",
+                    days, locations.size(),
+                    Integer.MAX_VALUE / ((long) MAX_ORDERS_PER_DAY * MAX_ITEMS_PER_ORDER * MAX_MODS_PER_ITEM)));
+        }
+        this.out = out;
+        this.start = start;
+        this.days = days;
+        this.locations = locations;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            opts.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        int locationCount = Integer.parseInt(opts.getOrDefault("locations", "1"));
+        List<String> locations = new ArrayList<>();
+        locations.add("College Station");
+        for (int l = 2; l <= locationCount; l++) locations.add("Location " + l);
+
+        SalesHistoryGenerator generator = new SalesHistoryGenerator(
+                Path.of(opts.getOrDefault("out", "build/history")),
+                LocalDate.parse(opts.getOrDefault("start", "2024-06-30")),
+                Integer.parseInt(opts.getOrDefault("days", String.valueOf(65 * 7))),
+                locations,
+                Long.parseLong(opts.getOrDefault("seed", "42")));
+        int threads = Integer.parseInt(opts.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        long started = System.nanoTime();
+        long[] counts = generator.run(threads);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Wrote %d orders, %d items, %d modifications to %s in %.1f s (%.0f rows/s)%n",
+                counts[0], counts[1], counts[2], generator.out.toAbsolutePath(), seconds,
+                (counts[0] + counts[1] + counts[2]) / seconds);
+    }
+
+    // ===== FORK / JOIN =====
+    // Returns {orders, items, modifications}
+    long[] run(int threads) throws IOException {
+        for (String table : List.of("order", "orderItem", "modifications")) {
+            Files.createDirectories(out.resolve(table));
+        }
+        YearMonth first = YearMonth.from(start);
+        YearMonth last = YearMonth.from(start.plusDays(days - 1));
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth m = first; !m.isAfter(last); m = m.plusMonths(1)) months.add(m);
+
+        long[][] perMonth = new long[months.size()][];
+        try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+            pool.invoke(new MonthRange(months, perMonth, 0, months.size()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        long[] totals = new long[3];
+        for (long[] counts : perMonth) {
+            for (int i = 0; i < 3; i++) totals[i] += counts[i];
+        }
+        return totals;
+    }
+
+    // Fork/join tasks are never serialized
+    @SuppressWarnings("serial")
+    private final class MonthRange extends RecursiveAction {
+        private final List<YearMonth> months;
+        private final long[][] results;
+        private final int from;
+        private final int to;
+
+        MonthRange(List<YearMonth> months, long[][] results, int from, int to) {
+            this.months = months;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                try {
+                    results[from] = writeMonth(months.get(from));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MonthRange(months, results, from, mid), new MonthRange(months, results, mid, to));
+        }
+    }
+
+    // ===== ONE MONTH =====
+    private long[] writeMonth(YearMonth month) throws IOException {
+        long[] counts = new long[3];
+        try (Writer orders = open("order", month, "OrderID,EmployeeID,Location,Date,OrderTotal");
+             Writer items = open("orderItem", month, "OrderItemID,MenuID,Price,QuantityPurchased,OrderID,Size");
+             Writer mods = open("modifications", month, "ModificationID,InventoryID,OrderItemID,Quantity,Cost")) {
+
+            for (LocalDate date = month.atDay(1); !date.isAfter(month.atEndOfMonth()); date = date.plusDays(1)) {
+                int day = (int) ChronoUnit.DAYS.between(start, date);
+                if (day < 0 || day >= days) continue;
+                for (int location = 0; location < locations.size(); location++) {
+                    writeDay(date, day, location, orders, items, mods, counts);
+                }
+            }
+        }
+        return counts;
+    }
+
+    private Writer open(String table, YearMonth month, String header) throws IOException {
+        FileChannel channel = FileChannel.open(out.resolve(table).resolve(table + "-" + month + ".csv"),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+        Writer buffered = new BufferedWriter(writer, 1 << 16);
+        buffered.write(header);
+        buffered.write('\n');
+        return buffered;
+    }
+
+    private void writeDay(LocalDate date, int day, int location, Writer orders, Writer items, Writer mods, long[] counts)
+            throws IOException {
+        SplittableRandom random = new SplittableRandom(mix(seed, day, location));
+        double[] avgs = PEAK_DAYS.contains(MonthDay.from(date)) ? PEAK_DAY : NORMAL_DAY;
+        long priceStep = (long) (day / PRICE_STEP_DAYS + 1) * PRICE_STEP_CENTS;
+
+        long block = (long) day * locations.size() + location;
+        long orderBase = block * MAX_ORDERS_PER_DAY;
+        int orderCount = Math.min(MAX_ORDERS_PER_DAY, (int) Math.abs(Math.ceil(gaussian(random, avgs[0], ST_DEVS[0]))));
+        int employeeID = day % EMPLOYEES + 1;
+        String locationName = locations.get(location);
+
+        for (int o = 0; o < orderCount; o++) {
+            long orderID = orderBase + o + 1;
+            LocalDateTime orderTime = date.atTime(7 + random.nextInt(15), random.nextInt(60));
+
+            int itemCount;
+            do {
+                itemCount = (int) Math.abs(gaussian(random, avgs[1], ST_DEVS[1]));
+            } while (itemCount < 1);
+            itemCount = Math.min(itemCount, MAX_ITEMS_PER_ORDER);
+
+            long orderTotal = 0;
+            for (int i = 0; i < itemCount; i++) {
+                long orderItemID = (orderID - 1) * MAX_ITEMS_PER_ORDER + i + 1;
+                long modBase = (orderItemID - 1) * MAX_MODS_PER_ITEM;
+                int menuID = 1 + random.nextInt(MENU_PRICE_CENTS.length - 1);
+                int size = random.nextInt(3) - 1;
+
+                long addOn = 0;
+                if (random.nextInt(4) == 0) {
+                    addOn += ICE_CENTS;
+                    writeModification(mods, modBase + 1, ICE_ID, orderItemID, ICE_CENTS);
+                    counts[2]++;
+                }
+                if (random.nextInt(4) == 0) {
+                    addOn += BOBA_CENTS;
+                    writeModification(mods, modBase + 2, BOBA_ID, orderItemID, BOBA_CENTS);
+                    counts[2]++;
+                }
+
+                int quantity = (int) Math.abs(Math.ceil(gaussian(random, 1, 0.07)));
+                long itemCents = (MENU_PRICE_CENTS[menuID] + priceStep + addOn + 50L * size) * quantity;
+                orderTotal += itemCents;
+
+                items.write(orderItemID + "," + menuID + "," + cents(itemCents) + "," + quantity + "," + orderID + "," + size + "\n");
+                counts[1]++;
+            }
+
+            orders.write(orderID + "," + employeeID + "," + locationName + "," + TIMESTAMP.format(orderTime) + "," + cents(orderTotal) + "\n");
+            counts[0]++;
+        }
+    }
+
+    private static void writeModification(Writer mods, long modificationID, int inventoryID, long orderItemID, long costCents)
+            throws IOException {
+        mods.write(modificationID + "," + inventoryID + "," + orderItemID + ",1," + cents(costCents) + "\n");
+    }
+
+    // ===== HELPERS =====
+    private static String cents(long cents) {
+        return (cents / 100) + "." + (cents % 100 < 10 ? "0" : "") + (cents % 100);
+    }
+
+    private static double gaussian(SplittableRandom random, double mean, double stdev) {
+        return mean + stdev * random.nextGaussian();
+    }
+
+    // SplitMix64 finalizer over (seed, day, location), so neighbouring days get unrelated streams
+    static long mix(long seed, int day, int location) {
+        long z = seed + 0x9E3779B97F4A7C15L * (((long) day << 8) + location + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
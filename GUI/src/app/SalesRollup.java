@@ -0,0 +1,267 @@
+package app;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Pre-aggregated sales for the reports: sales_hourly per (location, day, hour) and sales_item_daily per
+// (location, day, menuID). OrderWriter upserts both inside each order transaction, so the X, Z and range reports
+// read one row per hour or per item-day instead of scanning ordertest. Returns are orders with a negative total
+// and voids are orders with a zero total, as the reports have always counted them.
+//
+// One-time backfill (also run by BulkLoader after loading order history):
+// java -cp "GUI/bin;GUI/lib/postgresql-42.7.3.jar" app.SalesRollup --url jdbc:postgresql://localhost:5432/postgres
+//      --user postgres --password secret
+public final class SalesRollup {
+
+    // Created and filled from order history by SchemaMigrator (migration 1: CREATE_TABLES + BACKFILL)
+    static final String CREATE_TABLES = """
+        CREATE TABLE IF NOT EXISTS sales_hourly (
+            location VARCHAR NOT NULL,
+            salesDay DATE NOT NULL,
+            salesHour SMALLINT NOT NULL,
+            orderCount INT NOT NULL,
+            revenue DECIMAL NOT NULL,
+            returnCount INT NOT NULL,
+            returnTotal DECIMAL NOT NULL,
+            voidCount INT NOT NULL,
+            firstOrder TIMESTAMP,
+            lastOrder TIMESTAMP,
+            PRIMARY KEY (location, salesDay, salesHour)
+        );
+        CREATE TABLE IF NOT EXISTS sales_item_daily (
+            location VARCHAR NOT NULL,
+            salesDay DATE NOT NULL,
+            menuID INT NOT NULL,
+            quantitySold DECIMAL NOT NULL,
+            revenue DECIMAL NOT NULL,
+            PRIMARY KEY (location, salesDay, menuID)
+        );
+    """;
+
+    // orderItem.priceAtPurchase is the line total (unit price * quantity, see OrderWriter), so item revenue is its sum
+    static final String BACKFILL = """
+        TRUNCATE sales_hourly, sales_item_daily;
+        INSERT INTO sales_hourly (location, salesDay, salesHour, orderCount, revenue,
+                                  returnCount, returnTotal, voidCount, firstOrder, lastOrder)
+        SELECT COALESCE(orderLocation, ''), orderDate::date, EXTRACT(HOUR FROM orderDate),
+               COUNT(*), COALESCE(SUM(orderTotal), 0),
+               COUNT(*) FILTER (WHERE orderTotal < 0), COALESCE(SUM(orderTotal) FILTER (WHERE orderTotal < 0), 0),
+               COUNT(*) FILTER (WHERE orderTotal = 0), MIN(orderDate), MAX(orderDate)
+        FROM ordertest
+        WHERE orderDate IS NOT NULL
+        GROUP BY 1, 2, 3;
+        INSERT INTO sales_item_daily (location, salesDay, menuID, quantitySold, revenue)
+        SELECT COALESCE(o.orderLocation, ''), o.orderDate::date, oi.menuID,
+               SUM(oi.quantityPurchased), SUM(oi.priceAtPurchase)
+        FROM orderItem oi
+        JOIN ordertest o ON o.orderID = oi.orderID
+        WHERE o.orderDate IS NOT NULL AND oi.menuID IS NOT NULL
+        GROUP BY 1, 2, 3;
+    """;
+
+    private static final String DAY_COUNTS_QUERY = """
+        SELECT salesDay, SUM(orderCount)
+        FROM sales_hourly
+        WHERE salesDay >= ? AND salesDay < ?
+        GROUP BY salesDay
+    """;
+
+    private record HourKey(String location, LocalDate day, int hour) {}
+
+    private record ItemKey(String location, LocalDate day, int menuID) {}
+
+    private static final class HourTotals {
+        int orders;
+        long revenueCents;
+        int returns;
+        long returnCents;
+        int voids;
+        Timestamp first;
+        Timestamp last;
+    }
+
+    private static final class ItemTotals {
+        long quantity;
+        long revenueCents;
+    }
+
+    private static final Comparator<HourKey> HOUR_ORDER = Comparator.comparing(HourKey::location)
+            .thenComparing(HourKey::day).thenComparingInt(HourKey::hour);
+    private static final Comparator<ItemKey> ITEM_ORDER = Comparator.comparing(ItemKey::location)
+            .thenComparing(ItemKey::day).thenComparingInt(ItemKey::menuID);
+
+    private SalesRollup() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            opts.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        DatabaseConnector.setDbUrl(opts.getOrDefault("url", "jdbc:postgresql://localhost:5432/postgres"));
+        DatabaseConnector.setDbUser(opts.getOrDefault("user", "postgres"));
+        DatabaseConnector.setDbPassword(opts.getOrDefault("password", ""));
+        DatabaseConnector.setPoolSize(1, 1);
+        // COPY and backfills hold a connection for as long as they take
+        DatabaseConnector.setLeakThreshold(0);
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            if (conn == null) throw new SQLException("Could not connect to database.");
+            long started = System.nanoTime();
+            backfill(conn);
+            System.out.printf("Rebuilt sales rollups in %d ms%n", (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            DatabaseConnector.shutdown();
+        }
+    }
+
+    // ===== BACKFILL =====
+    // Rebuilds both rollups from ordertest in one transaction. The SHARE lock holds off new orders until the
+    // rebuild commits, so an order is counted exactly once whether it lands before or after.
+    public static void backfill(Connection conn) throws SQLException {
+        SchemaMigrator.migrate(conn);
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("LOCK TABLE ordertest, orderItem IN SHARE MODE");
+            stmt.execute(BACKFILL);
+            conn.commit();
+            stmt.execute("ANALYZE sales_hourly, sales_item_daily");
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    // ===== DAY WATERMARK =====
+    // Orders per day in [from, to). Kept in the same transaction as the orders, so an in-memory copy of a closed
+    // day is stale exactly when its count here has moved since the copy was read.
+    public static Map<LocalDate, Integer> orderCountsByDay(Connection conn, LocalDate from, LocalDate to)
+            throws SQLException {
+        Map<LocalDate, Integer> counts = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(DAY_COUNTS_QUERY)) {
+            ps.setDate(1, Date.valueOf(from));
+            ps.setDate(2, Date.valueOf(to));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getDate(1).toLocalDate(), rs.getInt(2));
+                }
+            }
+        }
+        return counts;
+    }
+
+    // ===== INCREMENTAL =====
+    // Adds the orders to both rollups. Called inside OrderWriter's transaction.
+    public static void apply(Connection conn, List<Order> orders) throws SQLException {
+        Map<HourKey, HourTotals> hours = new TreeMap<>(HOUR_ORDER);
+        Map<ItemKey, ItemTotals> items = new TreeMap<>(ITEM_ORDER);
+        for (Order order : orders) {
+            if (order.orderDate() == null) continue;
+            String location = order.location() == null ? "" : order.location();
+            LocalDateTime time = order.orderDate().toLocalDateTime();
+            LocalDate day = time.toLocalDate();
+
+            HourTotals hour = hours.computeIfAbsent(new HourKey(location, day, time.getHour()), k -> new HourTotals());
+            hour.orders++;
+            hour.revenueCents += order.totalCents();
+            if (order.totalCents() < 0) {
+                hour.returns++;
+                hour.returnCents += order.totalCents();
+            } else if (order.totalCents() == 0) {
+                hour.voids++;
+            }
+            if (hour.first == null || order.orderDate().before(hour.first)) hour.first = order.orderDate();
+            if (hour.last == null || order.orderDate().after(hour.last)) hour.last = order.orderDate();
+
+            for (Order.Line line : order.lines()) {
+                ItemTotals item = items.computeIfAbsent(new ItemKey(location, day, line.menuID()), k -> new ItemTotals());
+                item.quantity += line.quantity();
+                // Same line total OrderWriter stores in priceAtPurchase
+                item.revenueCents += line.priceCents() * line.quantity();
+            }
+        }
+        if (!hours.isEmpty()) upsertHours(conn, hours);
+        if (!items.isEmpty()) upsertItems(conn, items);
+    }
+
+    // Keys go out sorted, so concurrent writers lock shared rollup rows in the same order
+    private static void upsertHours(Connection conn, Map<HourKey, HourTotals> hours) throws SQLException {
+        StringBuilder sql = new StringBuilder("""
+            INSERT INTO sales_hourly AS s (location, salesDay, salesHour, orderCount, revenue,
+                                           returnCount, returnTotal, voidCount, firstOrder, lastOrder)
+            VALUES\s""");
+        for (int i = 0; i < hours.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        }
+        sql.append("""
+
+            ON CONFLICT (location, salesDay, salesHour) DO UPDATE
+            SET orderCount = s.orderCount + EXCLUDED.orderCount,
+                revenue = s.revenue + EXCLUDED.revenue,
+                returnCount = s.returnCount + EXCLUDED.returnCount,
+                returnTotal = s.returnTotal + EXCLUDED.returnTotal,
+                voidCount = s.voidCount + EXCLUDED.voidCount,
+                firstOrder = LEAST(s.firstOrder, EXCLUDED.firstOrder),
+                lastOrder = GREATEST(s.lastOrder, EXCLUDED.lastOrder)""");
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int p = 1;
+            for (Map.Entry<HourKey, HourTotals> entry : hours.entrySet()) {
+                HourKey key = entry.getKey();
+                HourTotals totals = entry.getValue();
+                stmt.setString(p++, key.location());
+                stmt.setDate(p++, Date.valueOf(key.day()));
+                stmt.setShort(p++, (short) key.hour());
+                stmt.setInt(p++, totals.orders);
+                stmt.setBigDecimal(p++, BigDecimal.valueOf(totals.revenueCents, 2));
+                stmt.setInt(p++, totals.returns);
+                stmt.setBigDecimal(p++, BigDecimal.valueOf(totals.returnCents, 2));
+                stmt.setInt(p++, totals.voids);
+                stmt.setTimestamp(p++, totals.first);
+                stmt.setTimestamp(p++, totals.last);
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void upsertItems(Connection conn, Map<ItemKey, ItemTotals> items) throws SQLException {
+        StringBuilder sql = new StringBuilder("""
+            INSERT INTO sales_item_daily AS s (location, salesDay, menuID, quantitySold, revenue)
+            VALUES\s""");
+        for (int i = 0; i < items.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?)");
+        }
+        sql.append("""
+
+            ON CONFLICT (location, salesDay, menuID) DO UPDATE
+            SET quantitySold = s.quantitySold + EXCLUDED.quantitySold,
+                revenue = s.revenue + EXCLUDED.revenue""");
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int p = 1;
+            for (Map.Entry<ItemKey, ItemTotals> entry : items.entrySet()) {
+                ItemKey key = entry.getKey();
+                stmt.setString(p++, key.location());
+                stmt.setDate(p++, Date.valueOf(key.day()));
+                stmt.setInt(p++, key.menuID());
+                stmt.setBigDecimal(p++, BigDecimal.valueOf(entry.getValue().quantity));
+                stmt.setBigDecimal(p++, BigDecimal.valueOf(entry.getValue().revenueCents, 2));
+            }
+            stmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package app;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+// Versioned schema changes on top of Database/Scripts/databaseUpload.sql, applied in order at startup.
+// Applied versions are recorded in schema_version. Each migration runs in its own transaction under an advisory
+// lock, so several registers starting at once apply it exactly once; the rest wait and then skip it.
+// Add new migrations at the end of MIGRATIONS with the next version number; never edit an applied one.
+public final class SchemaMigrator {
+
+    record Migration(int version, String description, String sql) {}
+
+    static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "sales rollup tables", SalesRollup.CREATE_TABLES + SalesRollup.BACKFILL),
+            new Migration(2, "report indexes", """
+                CREATE INDEX IF NOT EXISTS ordertest_orderdate_idx
+                    ON ordertest (orderDate) INCLUDE (orderID, orderTotal, orderLocation, employeeID);
+                CREATE INDEX IF NOT EXISTS orderitem_orderid_idx
+                    ON orderItem (orderID) INCLUDE (menuID, quantityPurchased, priceAtPurchase);
+                CREATE INDEX IF NOT EXISTS orderitem_menuid_idx ON orderItem (menuID);
+                CREATE INDEX IF NOT EXISTS modification_orderitemid_idx ON modification (orderItemID);
+                CREATE INDEX IF NOT EXISTS menuinfo_menuid_idx
+                    ON menuInfo (menuID) INCLUDE (inventoryID, menuInfoQuantity);
+                CREATE INDEX IF NOT EXISTS menu_category_idx ON menu (category);
+                CREATE INDEX IF NOT EXISTS sales_hourly_day_idx
+                    ON sales_hourly (salesDay) INCLUDE (salesHour, orderCount, revenue, returnTotal, voidCount, firstOrder, lastOrder);
+                CREATE INDEX IF NOT EXISTS sales_item_daily_day_idx
+                    ON sales_item_daily (salesDay) INCLUDE (menuID, revenue);
+            """),
+            new Migration(3, "ingredient usage ledger", UsageLedger.CREATE_AND_FILL));
+
+    private static final String CREATE_VERSION_TABLE = """
+        CREATE TABLE IF NOT EXISTS schema_version (
+            version INT PRIMARY KEY,
+            description VARCHAR NOT NULL,
+            appliedAt TIMESTAMP NOT NULL DEFAULT now()
+        )
+    """;
+
+    private SchemaMigrator() {}
+
+    // Called from main before the UI starts. A database that is down is reported here and again by the screens.
+    public static void migrateOnStartup() {
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            if (conn == null) return;
+            int applied = migrate(conn);
+            if (applied > 0) System.out.println(" Applied " + applied + " schema migration(s).");
+        } catch (SQLException e) {
+            System.err.println("Schema migration failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // Returns the number of migrations this call applied
+    public static int migrate(Connection conn) throws SQLException {
+        // A migration that fills a table from order history can outlast the pool's leak threshold
+        DatabaseConnector.markLongRunning(conn);
+        int applied = 0;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (Migration migration : MIGRATIONS) {
+                if (apply(conn, migration)) applied++;
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return applied;
+    }
+
+    private static boolean apply(Connection conn, Migration migration) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SELECT pg_advisory_xact_lock(hashtext('schema_version'))");
+            stmt.execute(CREATE_VERSION_TABLE);
+            if (isApplied(conn, migration.version())) {
+                conn.commit();
+                return false;
+            }
+
+            long started = System.nanoTime();
+            stmt.execute(migration.sql());
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                ps.setInt(1, migration.version());
+                ps.setString(2, migration.description());
+                ps.executeUpdate();
+            }
+            conn.commit();
+            System.out.printf(" Schema migration %d (%s) applied in %d ms%n",
+                    migration.version(), migration.description(), (System.nanoTime() - started) / 1_000_000);
+            return true;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    private static boolean isApplied(Connection conn, int version) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT 1 FROM schema_version WHERE version = ?")) {
+            ps.setInt(1, version);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package app;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.util.BitSet;
+import java.util.List;
+
+// Seasonal availability compiled ahead of time.
+// Each item's SeasonalStart/SeasonalEnd becomes a day-of-year bitset (month/day only, the year is ignored),
+// and the set of menuIDs active on each of the 366 calendar days is precomputed, so checking an item
+// for a given day is a single bit test. Has no UI dependencies.
+public final class SeasonalCalendar {
+
+    // Days are indexed on a leap-year calendar so Feb 29 has its own slot
+    public static final int DAYS = 366;
+    private static final int LEAP_YEAR = 2000;
+
+    private final BitSet[] activeByDay = new BitSet[DAYS];
+
+    public SeasonalCalendar(List<MenuCatalog.MenuItem> items) {
+        for (int day = 0; day < DAYS; day++) {
+            activeByDay[day] = new BitSet();
+        }
+        for (MenuCatalog.MenuItem item : items) {
+            BitSet window = compileWindow(item.seasonalStart(), item.seasonalEnd());
+            for (int day = window.nextSetBit(0); day >= 0; day = window.nextSetBit(day + 1)) {
+                activeByDay[day].set(item.menuID());
+            }
+        }
+    }
+
+    // ===== LOOKUP =====
+    // The returned set is shared; callers must not modify it.
+    public BitSet activeOn(LocalDate date) {
+        return activeByDay[dayIndex(date.getMonthValue(), date.getDayOfMonth())];
+    }
+
+    public boolean isActive(int menuID, LocalDate date) {
+        return activeOn(date).get(menuID);
+    }
+
+    // ===== COMPILATION =====
+    public static int dayIndex(int month, int dayOfMonth) {
+        return MonthDay.of(month, dayOfMonth).atYear(LEAP_YEAR).getDayOfYear() - 1;
+    }
+
+    // Days (0..365) on which an item with this window is sold. A missing bound means year-round.
+    // A window whose end falls before its start wraps across New Year (e.g. Nov 15 - Feb 10).
+    public static BitSet compileWindow(LocalDateTime start, LocalDateTime end) {
+        BitSet days = new BitSet(DAYS);
+        if (start == null || end == null) {
+            days.set(0, DAYS);
+            return days;
+        }
+
+        int first = dayIndex(start.getMonthValue(), start.getDayOfMonth());
+        int last = dayIndex(end.getMonthValue(), end.getDayOfMonth());
+        if (first <= last) {
+            days.set(first, last + 1);
+        } else {
+            days.set(first, DAYS);
+            days.set(0, last + 1);
+        }
+        return days;
+    }
+}
@@ -0,0 +1,352 @@
+package app;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+// Live best sellers per (day, location), kept in memory so the manager's top-5 tables need no query.
+// Each sketch holds a revenue counter per menuID in a long[] and an indexed min-heap of the current top K menuIDs
+// (position[] maps a menuID to its heap slot), so an order line updates its counter and re-sifts one heap entry.
+// OrderWriter records every order after it commits. Sketches are seeded from sales_item_daily: today on every load,
+// which also picks up orders taken at other registers, and closed days once and again whenever their order count
+// in sales_hourly has moved since they were read (orders from a register on a simulated date, BulkLoader, history
+// loads). The count is read before the sketches, so an order committing in between is re-read on the next load.
+// Orders recorded while a load reads today are replayed onto the sketches it swaps in, since the read may not have
+// seen them; one that committed just before the read but was recorded just after counts twice until the next load.
+// A range top-K merges the per-day sketches. Every sketch carries all of its counters, so the merge is exact.
+// Items are ranked by menu name, like the SQL report and OrderAnalytics, so renamed duplicates fold together.
+public final class TopSellers {
+
+    static final int K = 5;
+
+    private static final String SEED_QUERY = """
+        SELECT salesDay, location, menuID, revenue
+        FROM sales_item_daily
+        WHERE salesDay >= ? AND salesDay < ?
+    """;
+
+    record Seller(int menuID, String name, long revenueCents) {}
+
+    private record DayKey(LocalDate day, String location) {}
+
+    // ===== SKETCH =====
+    private static final class Sketch {
+        long[] revenue = new long[64];
+        final int[] heap = new int[K];
+        int heapSize;
+        int[] position = new int[64];
+
+        Sketch() {
+            Arrays.fill(position, -1);
+        }
+
+        void add(int menuID, long cents) {
+            if (menuID >= revenue.length) grow(menuID + 1);
+            revenue[menuID] += cents;
+            int slot = position[menuID];
+            if (slot >= 0) {
+                // A return can lower a member below the best item outside the heap
+                if (cents < 0) {
+                    siftUp(slot);
+                    promoteBest();
+                } else {
+                    siftDown(slot);
+                }
+            } else if (heapSize < K) {
+                if (revenue[menuID] <= 0) return;
+                heap[heapSize] = menuID;
+                position[menuID] = heapSize;
+                siftUp(heapSize++);
+            } else if (revenue[menuID] > revenue[heap[0]]) {
+                replaceRoot(menuID);
+            }
+        }
+
+        // Swaps the best non-member in for the heap minimum when it now beats it
+        private void promoteBest() {
+            int best = -1;
+            for (int menuID = 0; menuID < revenue.length; menuID++) {
+                if (position[menuID] < 0 && revenue[menuID] > 0 && (best < 0 || revenue[menuID] > revenue[best])) {
+                    best = menuID;
+                }
+            }
+            if (best < 0) return;
+            if (heapSize < K) {
+                heap[heapSize] = best;
+                position[best] = heapSize;
+                siftUp(heapSize++);
+            } else if (revenue[best] > revenue[heap[0]]) {
+                replaceRoot(best);
+            }
+        }
+
+        private void replaceRoot(int menuID) {
+            position[heap[0]] = -1;
+            heap[0] = menuID;
+            position[menuID] = 0;
+            siftDown(0);
+        }
+
+        private void siftUp(int slot) {
+            while (slot > 0) {
+                int parent = (slot - 1) >>> 1;
+                if (revenue[heap[parent]] <= revenue[heap[slot]]) return;
+                swap(slot, parent);
+                slot = parent;
+            }
+        }
+
+        private void siftDown(int slot) {
+            while (true) {
+                int smallest = slot;
+                int left = 2 * slot + 1;
+                int right = left + 1;
+                if (left < heapSize && revenue[heap[left]] < revenue[heap[smallest]]) smallest = left;
+                if (right < heapSize && revenue[heap[right]] < revenue[heap[smallest]]) smallest = right;
+                if (smallest == slot) return;
+                swap(slot, smallest);
+                slot = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int menuA = heap[a];
+            heap[a] = heap[b];
+            heap[b] = menuA;
+            position[heap[a]] = a;
+            position[heap[b]] = b;
+        }
+
+        private void grow(int needed) {
+            int capacity = Math.max(needed, revenue.length * 2);
+            int oldLength = position.length;
+            revenue = Arrays.copyOf(revenue, capacity);
+            position = Arrays.copyOf(position, capacity);
+            Arrays.fill(position, oldLength, capacity, -1);
+        }
+    }
+
+    private static final Map<DayKey, Sketch> sketches = new HashMap<>();
+    private static final Map<Integer, String> names = new HashMap<>();
+    // Closed days that have been read from sales_item_daily, and their order counts as of the read
+    private static LocalDate loadedFrom = null;
+    private static LocalDate loadedTo = null;
+    private static final Map<LocalDate, Integer> loadedCounts = new HashMap<>();
+    // Orders recorded since the oldest load in flight started; each load replays the ones after its own start
+    private static final List<Order> recordedDuringLoad = new ArrayList<>();
+    private static int loadsInFlight = 0;
+
+    private TopSellers() {}
+
+    // ===== LIVE UPDATES =====
+    // Called by OrderWriter once the orders have committed. Revenue matches sales_item_daily (see SalesRollup).
+    static synchronized void record(List<Order> orders) {
+        for (Order order : orders) {
+            if (order.orderDate() == null) continue;
+            add(order);
+            for (Order.Line line : order.lines()) {
+                names.putIfAbsent(line.menuID(), line.name());
+            }
+            if (loadsInFlight > 0) recordedDuringLoad.add(order);
+        }
+    }
+
+    private static void add(Order order) {
+        String location = order.location() == null ? "" : order.location();
+        Sketch sketch = sketches.computeIfAbsent(
+                new DayKey(order.orderDate().toLocalDateTime().toLocalDate(), location), k -> new Sketch());
+        for (Order.Line line : order.lines()) {
+            sketch.add(line.menuID(), line.priceCents() * line.quantity());
+        }
+    }
+
+    // ===== SEEDING =====
+    // Makes [from, to) readable: reads the closed days not seen yet, re-reads loaded closed days from the first one
+    // whose order count changed, and re-reads today if it is in the range.
+    public static void load(Connection conn, LocalDate from, LocalDate to) throws SQLException {
+        LocalDate today = LocalDate.now();
+        List<LocalDate[]> ranges = new ArrayList<>();
+        LocalDate spanFrom;
+        LocalDate spanTo;
+        Map<LocalDate, Integer> spanCounts;
+        int replayFrom;
+        synchronized (TopSellers.class) {
+            replayFrom = recordedDuringLoad.size();
+            loadsInFlight++;
+            LocalDate closedTo = to.isAfter(today) ? today : to;
+            // The loaded days stay one contiguous span, so a far-off range also reads the gap in between
+            if (from.isBefore(closedTo) && loadedFrom == null) {
+                ranges.add(new LocalDate[] { from, closedTo });
+            } else if (from.isBefore(closedTo)) {
+                if (from.isBefore(loadedFrom)) ranges.add(new LocalDate[] { from, loadedFrom });
+                if (closedTo.isAfter(loadedTo)) ranges.add(new LocalDate[] { loadedTo, closedTo });
+            }
+            spanFrom = loadedFrom;
+            spanTo = loadedTo;
+            spanCounts = new HashMap<>(loadedCounts);
+        }
+
+        Map<Integer, String> menuNames = null;
+        Map<LocalDate, Integer> counts = new HashMap<>();
+        List<Map<DayKey, Sketch>> seeded = new ArrayList<>();
+        try {
+            // Watermark first: an order committing while the sketches are read then shows up as a changed count
+            LocalDate countsFrom = spanFrom;
+            LocalDate countsTo = spanTo;
+            for (LocalDate[] range : ranges) {
+                countsFrom = countsFrom == null ? range[0] : min(countsFrom, range[0]);
+                countsTo = countsTo == null ? range[1] : max(countsTo, range[1]);
+            }
+            if (countsFrom != null) counts = SalesRollup.orderCountsByDay(conn, countsFrom, countsTo);
+            if (spanFrom != null) {
+                LocalDate changed = firstChangedDay(spanCounts, counts, spanFrom, spanTo);
+                if (changed != null) ranges.add(new LocalDate[] { changed, spanTo });
+            }
+            if (to.isAfter(today) && !from.isAfter(today)) ranges.add(new LocalDate[] { today, today.plusDays(1) });
+
+            menuNames = readNames(conn);
+            for (LocalDate[] range : ranges) {
+                seeded.add(read(conn, range[0], range[1]));
+            }
+        } finally {
+            synchronized (TopSellers.class) {
+                if (seeded.size() == ranges.size()) swapIn(ranges, seeded, menuNames, counts, today, replayFrom);
+                if (--loadsInFlight == 0) recordedDuringLoad.clear();
+            }
+        }
+    }
+
+    // Earliest day in [from, to) whose count differs between the two watermarks, or null
+    private static LocalDate firstChangedDay(Map<LocalDate, Integer> loaded, Map<LocalDate, Integer> now,
+                                             LocalDate from, LocalDate to) {
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            if (!loaded.getOrDefault(day, 0).equals(now.getOrDefault(day, 0))) return day;
+        }
+        return null;
+    }
+
+    // Caller holds the class lock
+    private static void swapIn(List<LocalDate[]> ranges, List<Map<DayKey, Sketch>> seeded, Map<Integer, String> menuNames,
+                               Map<LocalDate, Integer> counts, LocalDate today, int replayFrom) {
+        names.putAll(menuNames);
+        List<Order> replay = recordedDuringLoad.subList(replayFrom, recordedDuringLoad.size());
+        for (int r = 0; r < ranges.size(); r++) {
+            LocalDate[] range = ranges.get(r);
+            // Drop what the range held before: live-only sketches for today, or closed days read again
+            sketches.keySet().removeIf(key -> !key.day().isBefore(range[0]) && key.day().isBefore(range[1]));
+            sketches.putAll(seeded.get(r));
+            if (range[0].equals(today)) {
+                for (Order order : replay) {
+                    if (order.orderDate().toLocalDateTime().toLocalDate().equals(today)) add(order);
+                }
+                continue;
+            }
+            // A closed day missed by the read has a moved count instead, so it is re-read rather than replayed
+            loadedCounts.keySet().removeIf(day -> !day.isBefore(range[0]) && day.isBefore(range[1]));
+            for (Map.Entry<LocalDate, Integer> entry : counts.entrySet()) {
+                LocalDate day = entry.getKey();
+                if (!day.isBefore(range[0]) && day.isBefore(range[1])) loadedCounts.put(day, entry.getValue());
+            }
+            loadedFrom = loadedFrom == null ? range[0] : min(loadedFrom, range[0]);
+            loadedTo = loadedTo == null ? range[1] : max(loadedTo, range[1]);
+        }
+    }
+
+    private static Map<DayKey, Sketch> read(Connection conn, LocalDate from, LocalDate to) throws SQLException {
+        Map<DayKey, Sketch> read = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(SEED_QUERY)) {
+            ps.setDate(1, Date.valueOf(from));
+            ps.setDate(2, Date.valueOf(to));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    DayKey key = new DayKey(rs.getDate("salesDay").toLocalDate(), rs.getString("location"));
+                    read.computeIfAbsent(key, k -> new Sketch())
+                            .add(rs.getInt("menuID"), rs.getBigDecimal("revenue").movePointRight(2).longValue());
+                }
+            }
+        }
+        return read;
+    }
+
+    private static Map<Integer, String> readNames(Connection conn) throws SQLException {
+        Map<Integer, String> menuNames = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT menuID, menuName FROM menu")) {
+            while (rs.next()) {
+                menuNames.put(rs.getInt("menuID"), rs.getString("menuName"));
+            }
+        }
+        return menuNames;
+    }
+
+    // ===== QUERIES =====
+    // One day at one location (or every location when location is null), straight from the sketch heap while no
+    // two menu items share a name
+    public static synchronized List<Seller> top(LocalDate day, String location) {
+        if (location != null && new HashSet<>(names.values()).size() == names.size()) {
+            Sketch sketch = sketches.get(new DayKey(day, location));
+            if (sketch == null) return List.of();
+            long[] revenue = sketch.revenue;
+            int[] members = Arrays.copyOf(sketch.heap, sketch.heapSize);
+            return ranked(members, revenue);
+        }
+        return top(day, day.plusDays(1), null);
+    }
+
+    // Half-open [from, to): sums the counters of every matching sketch, then picks the top K with a fresh heap
+    public static synchronized List<Seller> top(LocalDate from, LocalDate to, String location) {
+        long[] revenue = new long[0];
+        for (Map.Entry<DayKey, Sketch> entry : sketches.entrySet()) {
+            DayKey key = entry.getKey();
+            if (key.day().isBefore(from) || !key.day().isBefore(to)) continue;
+            if (location != null && !location.equals(key.location())) continue;
+            long[] counters = entry.getValue().revenue;
+            if (counters.length > revenue.length) revenue = Arrays.copyOf(revenue, counters.length);
+            for (int menuID = 0; menuID < counters.length; menuID++) {
+                revenue[menuID] += counters[menuID];
+            }
+        }
+        // Fold items that share a name onto the lowest menuID, which ranked() then names
+        Map<String, Integer> byName = new HashMap<>();
+        Sketch merged = new Sketch();
+        for (int menuID = 0; menuID < revenue.length; menuID++) {
+            if (revenue[menuID] == 0) continue;
+            Integer first = byName.putIfAbsent(names.getOrDefault(menuID, "Item " + menuID), menuID);
+            if (first != null) {
+                revenue[first] += revenue[menuID];
+                revenue[menuID] = 0;
+            }
+        }
+        for (int menuID = 0; menuID < revenue.length; menuID++) {
+            if (revenue[menuID] != 0) merged.add(menuID, revenue[menuID]);
+        }
+        return ranked(Arrays.copyOf(merged.heap, merged.heapSize), merged.revenue);
+    }
+
+    private static List<Seller> ranked(int[] members, long[] revenue) {
+        List<Seller> sellers = new ArrayList<>(members.length);
+        for (int menuID : members) {
+            sellers.add(new Seller(menuID, names.getOrDefault(menuID, "Item " + menuID), revenue[menuID]));
+        }
+        sellers.sort((a, b) -> Long.compare(b.revenueCents(), a.revenueCents()));
+        return sellers;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,237 @@
+package app;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Ingredient usage per (day, inventoryID) in ingredient_usage_daily, for the Product Usage Chart.
+// Usage is counted the way InventoryDeduction takes it out of stock: the menuInfo recipe per drink, plus added
+// extras, minus removed ingredients (the recipe amount they would have used). OrderWriter upserts each order's
+// usage inside its transaction; history is rebuilt by a backfill that runs day slices side by side.
+// The backfill uses today's recipes; the ledger keeps the recipe that was current when each new order was taken.
+//
+// One-time backfill (also run by BulkLoader after loading order history):
+// java -cp "GUI/bin;GUI/lib/postgresql-42.7.3.jar" app.UsageLedger --url jdbc:postgresql://localhost:5432/postgres
+//      --user postgres --password secret [--jobs 4]
+public final class UsageLedger {
+
+    static final String CREATE_TABLE = """
+        CREATE TABLE IF NOT EXISTS ingredient_usage_daily (
+            salesDay DATE NOT NULL,
+            inventoryID INT NOT NULL,
+            used DECIMAL NOT NULL,
+            PRIMARY KEY (salesDay, inventoryID)
+        );
+    """;
+
+    // %1$s is the filter on o.orderDate. Drinks are summed per (day, menuID) and extras per (day, menuID, inventoryID)
+    // before the recipe join, so the join sees a few rows per menu item and day instead of one per order item.
+    private static final String USAGE_BY_DAY = """
+        WITH items AS (
+            SELECT o.orderDate::date AS salesDay, oi.menuID, SUM(oi.quantityPurchased) AS quantity
+            FROM ordertest o
+            JOIN orderItem oi ON oi.orderID = o.orderID
+            WHERE %1$s
+            GROUP BY 1, 2
+        ), mods AS (
+            SELECT o.orderDate::date AS salesDay, oi.menuID, md.inventoryID,
+                   SUM(CASE WHEN md.modificationQuantity > 0 THEN md.modificationQuantity * oi.quantityPurchased ELSE 0 END) AS added,
+                   SUM(CASE WHEN md.modificationQuantity < 0 THEN oi.quantityPurchased ELSE 0 END) AS removed
+            FROM ordertest o
+            JOIN orderItem oi ON oi.orderID = o.orderID
+            JOIN modification md ON md.orderItemID = oi.orderItemID
+            WHERE %1$s AND md.inventoryID IS NOT NULL
+            GROUP BY 1, 2, 3
+        )
+        SELECT salesDay, inventoryID, SUM(used)
+        FROM (
+            SELECT it.salesDay, mi.inventoryID, mi.menuInfoQuantity * it.quantity AS used
+            FROM items it
+            JOIN menuInfo mi ON mi.menuID = it.menuID
+            UNION ALL
+            SELECT m.salesDay, m.inventoryID, m.added - COALESCE(mi.menuInfoQuantity, 0) * m.removed
+            FROM mods m
+            LEFT JOIN menuInfo mi ON mi.menuID = m.menuID AND mi.inventoryID = m.inventoryID
+        ) lines
+        WHERE inventoryID IS NOT NULL
+        GROUP BY 1, 2
+    """;
+
+    // Migration 3 fills the new table in one statement; later rebuilds go through backfill.
+    // The TRUNCATE makes it safe on a database whose ledger was already filled.
+    static final String CREATE_AND_FILL = CREATE_TABLE
+            + "TRUNCATE ingredient_usage_daily;\n"
+            + "INSERT INTO ingredient_usage_daily (salesDay, inventoryID, used)\n"
+            + USAGE_BY_DAY.formatted("o.orderDate IS NOT NULL") + ";";
+
+    private static final String FILL_SLICE = "INSERT INTO ingredient_usage_daily (salesDay, inventoryID, used)\n"
+            + USAGE_BY_DAY.formatted("o.orderDate >= ? AND o.orderDate < ?");
+
+    private UsageLedger() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new TreeMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            opts.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        DatabaseConnector.setDbUrl(opts.getOrDefault("url", "jdbc:postgresql://localhost:5432/postgres"));
+        DatabaseConnector.setDbUser(opts.getOrDefault("user", "postgres"));
+        DatabaseConnector.setDbPassword(opts.getOrDefault("password", ""));
+        int jobs = Integer.parseInt(opts.getOrDefault("jobs", "4"));
+        DatabaseConnector.setPoolSize(1, jobs);
+        // COPY and backfills hold a connection for as long as they take
+        DatabaseConnector.setLeakThreshold(0);
+        try {
+            long started = System.nanoTime();
+            int days = backfill(jobs);
+            System.out.printf("Rebuilt ingredient usage for %d days in %d ms%n", days, (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            DatabaseConnector.shutdown();
+        }
+    }
+
+    // ===== BACKFILL =====
+    // Rebuilds the ledger from order history as `jobs` contiguous day slices on their own connections. Every slice
+    // scans orderItem once, so there is no gain in cutting more slices than there are connections. Each slice holds
+    // a SHARE lock on the order tables while it deletes and re-inserts its days, so an order written meanwhile is
+    // counted once: either it is already in the rows the slice reads, or it waits and upserts on top.
+    // Returns the number of days covered.
+    public static int backfill(int jobs) throws Exception {
+        LocalDate first;
+        LocalDate last;
+        try (Connection conn = connect(); Statement stmt = conn.createStatement()) {
+            SchemaMigrator.migrate(conn);
+            try (ResultSet rs = stmt.executeQuery("SELECT MIN(orderDate)::date, MAX(orderDate)::date FROM ordertest")) {
+                rs.next();
+                if (rs.getDate(1) == null) {
+                    stmt.execute("TRUNCATE ingredient_usage_daily");
+                    return 0;
+                }
+                first = rs.getDate(1).toLocalDate();
+                last = rs.getDate(2).toLocalDate();
+            }
+            // Days outside the history are no slice's to clear
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "DELETE FROM ingredient_usage_daily WHERE salesDay < ? OR salesDay > ?")) {
+                ps.setDate(1, Date.valueOf(first));
+                ps.setDate(2, Date.valueOf(last));
+                ps.executeUpdate();
+            }
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(jobs, Thread.ofVirtual().name("usage-backfill-", 0).factory())) {
+            long days = last.toEpochDay() - first.toEpochDay() + 1;
+            for (int slice = 0; slice < jobs; slice++) {
+                LocalDate sliceFrom = first.plusDays(days * slice / jobs);
+                LocalDate sliceTo = first.plusDays(days * (slice + 1) / jobs);
+                if (!sliceFrom.isBefore(sliceTo)) continue;
+                futures.add(pool.submit(() -> {
+                    fillSlice(sliceFrom, sliceTo);
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        try (Connection conn = connect(); Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE ingredient_usage_daily");
+        }
+        return (int) (last.toEpochDay() - first.toEpochDay() + 1);
+    }
+
+    private static void fillSlice(LocalDate from, LocalDate to) throws SQLException {
+        try (Connection conn = connect()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement();
+                 PreparedStatement delete = conn.prepareStatement(
+                         "DELETE FROM ingredient_usage_daily WHERE salesDay >= ? AND salesDay < ?");
+                 PreparedStatement fill = conn.prepareStatement(FILL_SLICE)) {
+                stmt.execute("LOCK TABLE ordertest, orderItem, modification IN SHARE MODE");
+                delete.setDate(1, Date.valueOf(from));
+                delete.setDate(2, Date.valueOf(to));
+                delete.executeUpdate();
+                for (int p = 0; p < 2; p++) {
+                    fill.setDate(2 * p + 1, Date.valueOf(from));
+                    fill.setDate(2 * p + 2, Date.valueOf(to));
+                }
+                fill.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        Connection conn = DatabaseConnector.getConnection();
+        if (conn == null) throw new SQLException("Could not connect to database.");
+        return conn;
+    }
+
+    // ===== INCREMENTAL =====
+    // Adds the orders' usage to the ledger. Called inside OrderWriter's transaction.
+    public static void apply(Connection conn, List<Order> orders) throws SQLException {
+        Map<LocalDate, List<Order>> byDay = new TreeMap<>();
+        for (Order order : orders) {
+            if (order.orderDate() == null) continue;
+            byDay.computeIfAbsent(order.orderDate().toLocalDateTime().toLocalDate(), k -> new ArrayList<>()).add(order);
+        }
+        RecipeBook recipes = RecipeBook.get(conn);
+        Map<LocalDate, double[]> usedByDay = new TreeMap<>();
+        int rows = 0;
+        for (Map.Entry<LocalDate, List<Order>> entry : byDay.entrySet()) {
+            double[] used = InventoryDeduction.expand(recipes, entry.getValue());
+            for (double amount : used) {
+                if (amount != 0.0) rows++;
+            }
+            usedByDay.put(entry.getKey(), used);
+        }
+        if (rows == 0) return;
+
+        StringBuilder sql = new StringBuilder("""
+            INSERT INTO ingredient_usage_daily AS u (salesDay, inventoryID, used)
+            VALUES\s""");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?)");
+        }
+        sql.append("""
+
+            ON CONFLICT (salesDay, inventoryID) DO UPDATE
+            SET used = u.used + EXCLUDED.used""");
+
+        // Sorted by (day, inventoryID), so concurrent writers lock shared ledger rows in the same order
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int p = 1;
+            for (Map.Entry<LocalDate, double[]> entry : usedByDay.entrySet()) {
+                double[] used = entry.getValue();
+                for (int inventoryID = 0; inventoryID < used.length; inventoryID++) {
+                    if (used[inventoryID] == 0.0) continue;
+                    stmt.setDate(p++, Date.valueOf(entry.getKey()));
+                    stmt.setInt(p++, inventoryID);
+                    stmt.setBigDecimal(p++, BigDecimal.valueOf(used[inventoryID]).setScale(4, RoundingMode.HALF_UP));
+                }
+            }
+            stmt.executeUpdate();
+        }
+    }
+}